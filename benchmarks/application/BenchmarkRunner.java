@@ -0,0 +1,29 @@
+package application;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run benchmarks with the {@link GCProfiler} reporting ops/s and allocation
+ * rates ({@code gc.alloc.rate.norm} in bytes/op). Results are also written
+ * to {@code bench_output.txt} as baseline for later comparison.
+ * <pre>
+ * java application.BenchmarkRunner [regexp]   (default: all benchmarks)
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "application\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.TEXT)
+                .result("bench_output.txt")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,53 @@
+package application;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import datamodel.order.Order.OrderItem;
+
+/**
+ * Benchmarks of the calculation methods in {@link Application} for single
+ * values and single orders.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CalculationBenchmark {
+
+    private final Application application = new Application();
+
+    /**
+     * Gross values cycled through to avoid constant folding.
+     */
+    private final long[] grossValues = { 10000L, 999L, 199999L, 14661L, 10471L, 119L, 5236L, 9992L };
+
+    private int next;
+
+    private List<OrderItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = new OrderData(1).orders.get(0).getItems();
+    }
+
+    @Benchmark
+    public long calculateIncludedVAT() {
+        next = (next + 1) & 7;
+        return application.calculateIncludedVAT(grossValues[next], 19.0);
+    }
+
+    @Benchmark
+    public long calculateOrderValue() {
+        return application.calculateOrderValue(items);
+    }
+
+    @Benchmark
+    public long calculateOrderItemVAT() {
+        return application.calculateOrderItemVAT(items);
+    }
+}
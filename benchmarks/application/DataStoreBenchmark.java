@@ -0,0 +1,94 @@
+package application;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.persistence.DataStore;
+
+/**
+ * Time to restore customers and articles from segment files at start-up,
+ * see {@link DataStore#load()}. Registries cannot be cleared, such that
+ * each fork loads once into empty registries. Saved objects are created
+ * without registering them: customers by their constructor, articles as
+ * plain records of stored values.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 5, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class DataStoreBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int numberOfObjects;
+
+    private Path directory;
+
+    private DataStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final String[] names = { "Meyer, Eric", "Bayer, Anne", "Schulz-Mueller, Tim", "Blumenfeld, Nadine-Ulla" };
+        final List<Customer> customers = new ArrayList<>(numberOfObjects);
+        final List<Article> articles = new ArrayList<>(numberOfObjects);
+        for (int i = 0; i < numberOfObjects; i++) {
+            customers.add(new Customer(500_000L + i, names[i % names.length], "customer" + i + "@gmx.de")
+                    .addContact("+49 30 " + (1_000_000 + i)));
+            articles.add(new StoredArticle("SKU-" + (100_001 + i), "Artikel " + i, 100 + i % 5000,
+                    i % 7 == 0 ? TAXRate.Reduced : TAXRate.Regular));
+        }
+        directory = Files.createTempDirectory("datastore-benchmark");
+        store = new DataStore(directory);
+        store.save(customers, articles);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public DataStore.Restored load() throws IOException {
+        return store.load();
+    }
+
+    /**
+     * Article with stored values that is not registered.
+     */
+    private static final class StoredArticle extends Article {
+        private final String id;
+        private final String description;
+        private final long unitPrice;
+        private final TAXRate taxRate;
+
+        StoredArticle(String id, String description, long unitPrice, TAXRate taxRate) {
+            this.id = id;
+            this.description = description;
+            this.unitPrice = unitPrice;
+            this.taxRate = taxRate;
+        }
+
+        @Override public String getId() { return id; }
+        @Override public String getDescription() { return description; }
+        @Override public long getUnitPrice() { return unitPrice; }
+        @Override public TAXRate getTaxRate() { return taxRate; }
+        @Override public PricingCategory getCategory() { return PricingCategory.BasePricing; }
+    }
+}
@@ -0,0 +1,79 @@
+package application;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import datamodel.Customer;
+import datamodel.Pricing;
+
+/**
+ * Benchmarks of the formatting methods in {@link Application} and of
+ * {@link Application.TableFormatter} rows and lines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormattingBenchmark {
+
+    private final Application application = new Application();
+
+    /**
+     * Prices cycled through to avoid constant folding.
+     */
+    private final long[] prices = { 299L, 149L, 1999L, 649L, 4990L, 7995L, 16900L, 123456789L };
+
+    private int next;
+
+    private Customer customer;
+
+    private Application.TableFormatter tf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customer = new OrderData(0).customers.get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpTable() {
+        // row/line output is discarded, only formatting is measured
+        tf = application.new TableFormatter(Writer.nullWriter(),
+                "| %-10s ", "| %-28s", "| %-5s", " %-10s| ", "%-5s|", " %-10s|");
+    }
+
+    @Benchmark
+    public String fmtPrice() {
+        next = (next + 1) & 7;
+        return application.fmtPrice(prices[next], Pricing.Currency.Euro, 1);
+    }
+
+    @Benchmark
+    public String fmtDecimal() {
+        next = (next + 1) & 7;
+        return application.fmtDecimal(prices[next], 2);
+    }
+
+    @Benchmark
+    public String fmtCustomerName() {
+        return application.fmtCustomerName(customer, 0);
+    }
+
+    @Benchmark
+    public String fmtCustomerNameUpperCase() {
+        return application.fmtCustomerName(customer, 12);
+    }
+
+    @Benchmark
+    public Application.TableFormatter tableRow() {
+        return tf.row("8592356245", "Meyer, Eric's Bestellung", "", "", "13.18 EUR", "129.79 EUR");
+    }
+
+    @Benchmark
+    public Application.TableFormatter tableLine() {
+        return tf.line();
+    }
+}
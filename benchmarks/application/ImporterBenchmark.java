@@ -0,0 +1,164 @@
+package application;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.DataFactory;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.imports.ImportReport;
+import datamodel.imports.Importer;
+
+/**
+ * Import rate of {@link Importer} in rows per second for files of 100k rows
+ * in CSV and JSON-lines format. Orders reference customers and articles
+ * created in setup, the order import can be repeated and reports rows per
+ * second. Customer and article imports register each row, they run as
+ * eight single shots per fork that keep SKUs in the six-digit range and
+ * report time per row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImporterBenchmark {
+
+    /**
+     * Rows per file.
+     */
+    private static final int ROWS = 100_000;
+
+    /**
+     * Number of customers and articles referenced by orders.
+     */
+    private static final int REFERENCED = 1_000;
+
+    @Param({ "csv", "jsonl" })
+    public String format;
+
+    @Param({ "1", "4" })
+    public int parallelism;
+
+    private Path directory;
+
+    private Path customers;
+
+    private Path articles;
+
+    private Path orders;
+
+    private Importer importer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final DataFactory factory = DataFactory.getInstance();
+        final String[] names = { "Meyer, Eric", "Bayer, Anne", "Schulz-Mueller, Tim", "Blumenfeld, Nadine-Ulla" };
+        final long[] customerIds = new long[REFERENCED];
+        final String[] skus = new String[REFERENCED];
+        for (int i = 0; i < REFERENCED; i++) {
+            customerIds[i] = factory.createCustomer(names[i % names.length], "customer" + i + "@gmx.de")
+                    .map(Customer::getId).orElseThrow();
+            skus[i] = factory.createArticle("Artikel " + i, 100 + i % 5000, PricingCategory.BasePricing,
+                    i % 7 == 0 ? TAXRate.Reduced : TAXRate.Regular).map(Article::getId).orElseThrow();
+        }
+        final boolean json = format.equals("jsonl");
+        directory = Files.createTempDirectory("importer-benchmark");
+        customers = directory.resolve("customers." + format);
+        articles = directory.resolve("articles." + format);
+        orders = directory.resolve("orders." + format);
+        try (BufferedWriter out = Files.newBufferedWriter(customers)) {
+            out.write(json ? "" : "name,contact,contact\n");
+            for (int i = 0; i < ROWS; i++) {
+                final String name = names[i % names.length];
+                final String mail = "kunde" + i + "@gmx.de", phone = "+49 30 " + (1_000_000 + i);
+                out.write(json
+                        ? "{\"name\": \"" + name + "\", \"contacts\": [\"" + mail + "\", \"" + phone + "\"]}\n"
+                        : "\"" + name + "\"," + mail + "," + phone + "\n");
+            }
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(articles)) {
+            out.write(json ? "" : "description,unitPrice,category,taxRate\n");
+            for (int i = 0; i < ROWS; i++) {
+                final String taxRate = i % 7 == 0 ? "Reduced" : "Regular";
+                out.write(json
+                        ? "{\"description\": \"Artikel " + i + "\", \"unitPrice\": " + (100 + i % 5000)
+                                + ", \"category\": \"BasePricing\", \"taxRate\": \"" + taxRate + "\"}\n"
+                        : "Artikel " + i + "," + (100 + i % 5000) + ",BasePricing," + taxRate + "\n");
+            }
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(orders)) {
+            out.write(json ? "" : "customer,category,article,quantity,article,quantity,article,quantity\n");
+            for (int i = 0; i < ROWS; i++) {
+                final long customer = customerIds[i % REFERENCED];
+                final String category = i % 5 == 0 ? "BlackFridayPricing" : "BasePricing";
+                final StringBuilder row = new StringBuilder(json
+                        ? "{\"customer\": \"" + customer + "\", \"category\": \"" + category + "\", \"items\": ["
+                        : customer + "," + category);
+                for (int k = 0; k < 3; k++) {
+                    final String sku = skus[(i * 3 + k * 17) % REFERENCED];
+                    final int quantity = 1 + (i + k) % 4;
+                    row.append(json
+                            ? (k > 0 ? ", " : "") + "{\"article\": \"" + sku + "\", \"quantity\": " + quantity + "}"
+                            : "," + sku + "," + quantity);
+                }
+                out.write(row.append(json ? "]}\n" : "\n").toString());
+            }
+        }
+        importer = new Importer(parallelism, 1_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportReport importOrders() throws IOException {
+        return checked(importer.importOrders(orders, order -> { }));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public ImportReport importCustomers() throws IOException {
+        return checked(importer.importCustomers(customers, customer -> { }));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public ImportReport importArticles() throws IOException {
+        return checked(importer.importArticles(articles, article -> { }));
+    }
+
+    /**
+     * Rejected rows would measure the error path, fail the run instead.
+     */
+    private static ImportReport checked(ImportReport report) {
+        if (report.accepted() != ROWS)
+            throw new IllegalStateException("rows rejected: " + report);
+        return report;
+    }
+}
@@ -0,0 +1,74 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.DataFactory;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+
+/**
+ * Synthetic data sets for benchmarks. Customers and articles are created
+ * through {@link DataFactory}, orders through {@link OrderBuilder} with
+ * 1 to 6 items each. Data is generated from a fixed seed such that all
+ * benchmark runs use the same orders.
+ */
+final class OrderData {
+
+    /**
+     * Customers orders are placed by.
+     */
+    final List<Customer> customers = new ArrayList<>();
+
+    /**
+     * Articles ordered.
+     */
+    final List<Article> articles = new ArrayList<>();
+
+    /**
+     * Generated orders.
+     */
+    final List<Order> orders;
+
+    /**
+     * Generate data set with a number of orders.
+     *
+     * @param numberOfOrders number of orders to generate
+     */
+    OrderData(int numberOfOrders) {
+        final DataFactory dataFactory = DataFactory.getInstance();
+        final Random random = new Random(42L);
+        final String[] names = { "Eric Meyer", "Anne Bayer", "Schulz-Mueller, Tim",
+                "Blumenfeld, Nadine-Ulla", "Khaled Saad Mohamed Abdelalim" };
+        for (int i = 0; i < 1000; i++) {
+            dataFactory.createCustomer(names[i % names.length], "customer" + i + "@gmx.de")
+                    .ifPresent(customers::add);
+        }
+        final Object[][] catalog = {
+                { "Tasse", 299L, TAXRate.Regular }, { "Becher", 149L, TAXRate.Regular },
+                { "Kanne", 1999L, TAXRate.Regular }, { "Teller", 649L, TAXRate.Regular },
+                { "Buch 'Java'", 4990L, TAXRate.Reduced }, { "Buch 'UML'", 7995L, TAXRate.Reduced },
+                { "Pfanne", 4999L, TAXRate.Regular }, { "Fahrradhelm", 16900L, TAXRate.Regular },
+                { "Fahrradkarte", 695L, TAXRate.Reduced },
+        };
+        for (Object[] a : catalog) {
+            dataFactory.createArticle((String) a[0], (long) a[1], PricingCategory.BasePricing, (TAXRate) a[2])
+                    .ifPresent(articles::add);
+        }
+        orders = new ArrayList<>(numberOfOrders);
+        while (orders.size() < numberOfOrders) {
+            var builder = new OrderBuilder()
+                    .withCustomer(customers.get(random.nextInt(customers.size())))
+                    .withCategory(PricingCategory.BasePricing);
+            for (int items = 1 + random.nextInt(6); items > 0; items--) {
+                builder.addItem(articles.get(random.nextInt(articles.size())), 1 + random.nextInt(10));
+            }
+            builder.build().ifPresent(orders::add);
+        }
+    }
+}
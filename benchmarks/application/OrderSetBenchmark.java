@@ -0,0 +1,53 @@
+package application;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import datamodel.order.Order;
+
+/**
+ * Benchmarks over synthetic order sets of 1k, 100k and 1M orders. One
+ * operation processes the whole order set.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderSetBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int numberOfOrders;
+
+    private final Application application = new Application();
+
+    private OrderData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new OrderData(numberOfOrders);
+    }
+
+    @Benchmark
+    public long calculateOrders() {
+        long sum = 0L;
+        for (Order order : data.orders) {
+            var items = order.getItems();
+            sum += application.calculateOrderValue(items) + application.calculateOrderItemVAT(items);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public StringBuilder printOrders() {
+        return application.printOrders(data.orders);
+    }
+
+    @Benchmark
+    public Writer printOrdersStreaming() {
+        return application.printOrders(data.orders, Writer.nullWriter());
+    }
+}
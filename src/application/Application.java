@@ -7,14 +7,22 @@ import datamodel.DataFactory;
 import datamodel.order.Order;
 import datamodel.order.Order.OrderItem;
 import datamodel.order.OrderBuilder;
+import datamodel.order.OrderValuation;
 import datamodel.Pricing;
+import datamodel.PricingIndex;
+import datamodel.VATCalculator;
 import datamodel.Pricing.PricingCategory;
 import datamodel.Pricing.TAXRate;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Driver class for the <i>c4-customer</i> assignment. Class creates
@@ -35,6 +43,17 @@ public class Application implements Runtime.Runnable {
      */
     private final DataFactory dataFactory = DataFactory.getInstance();
 
+    /**
+     * Reference to {@link PricingIndex} singleton with precomputed prices.
+     */
+    private final PricingIndex pricingIndex = PricingIndex.getInstance();
+
+    /**
+     * Column specification of the order table.
+     */
+    private static final String[] ORDER_COLUMNS = {
+            "| %-10s ", "| %-28s", "| %-5s", " %-10s| ", "%-5s|", " %-10s|" };
+
     /**
      * Public default constructor (to avoid javadoc warning).
      */
@@ -51,6 +70,25 @@ public class Application implements Runtime.Runnable {
     @Override
     public void run(Properties properties, String[] args) {
 
+        /*
+         * Load conversion rates from file given by property "pricing.conversion-rates".
+         */
+        final String ratesFile = properties.getProperty("pricing.conversion-rates");
+        if (ratesFile != null) {
+            try {
+                Pricing.setConversionRates(Pricing.ConversionRates.load(Path.of(ratesFile)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /*
+         * Parallel rendering of order tables configured by properties
+         * "report.parallelism" (threads, 1: sequential) and "report.chunk-size".
+         */
+        final int reportParallelism = Integer.parseInt(properties.getProperty("report.parallelism", "1"));
+        final int reportChunkSize = Integer.parseInt(properties.getProperty("report.chunk-size", "1000"));
+
         /*
          * Collect created Customer objects in list 'customers'.
          */
@@ -136,24 +174,21 @@ public class Application implements Runtime.Runnable {
                                 "(%d) Order objects built.\n---",
                         customers.spliterator().getExactSizeIfKnown(), articles.size(), orders.size()));
 
-        // build and print Customer table
-
-        StringBuilder sb = printCustomers(customers);
-        System.out.println(sb.insert(0, "Kunden:\n").toString());
+        // stream Customer table row by row to System.out
+        final PrintStream out = System.out;
+        printCustomers(customers, out.append("Kunden:\n")).println();
 
-        // build and print Article tables for different Pricings
+        // stream Article tables for different Pricings
         Arrays.stream(PricingCategory.values())
                 .forEach(category -> {
                     // header: "Artikel (BasePricing, EUR):"
                     var header = String.format("Artikel (%s, %s):\n", category, category.pricing().currency().code());
-                    StringBuilder sb2 = printArticles(articles.values().stream().toList(), category);
-                    System.out.println(sb2.insert(0, header).toString());
+                    printArticles(articles.values().stream().toList(), category, out.append(header)).println();
                 });
 
-        // built and print Order table
+        // stream Order table
         if (orders.size() > 0) {
-            StringBuilder sb3 = printOrders(orders);
-            System.out.println(sb3.insert(0, "Bestellungen:\n").toString());
+            printOrders(orders, out.append("Bestellungen:\n"), reportParallelism, reportChunkSize).println();
         }
     }
 
@@ -167,10 +202,29 @@ public class Application implements Runtime.Runnable {
      * @throws IllegalArgumentException with null arguments
      */
     public StringBuilder printCustomers(Collection<Customer> customers) {
+        return printCustomers(customers, new StringBuilder());
+    }
+
+    /**
+     * Stream objects of class {@link Customer} as table rows into an
+     * {@link Appendable} (e.g. a {@link java.io.Writer} or {@link PrintStream}).
+     * Rows are written one at a time, output is the same as from
+     * {@link #printCustomers(Collection)}.
+     * 
+     * @param <A>       type of the output target
+     * @param customers customer objects to print
+     * @param out       output target rows are written to
+     * @return output target for chaining
+     * @throws IllegalArgumentException with null arguments
+     * @throws UncheckedIOException when writing to the output target fails
+     */
+    public <A extends Appendable> A printCustomers(Collection<Customer> customers, A out) {
         if (customers == null)
             throw new IllegalArgumentException("argument customers: null");
+        if (out == null)
+            throw new IllegalArgumentException("argument out: null");
         //
-        final TableFormatter tf = new TableFormatter(
+        final TableFormatter tf = new TableFormatter(out,
                 // table column specification
                 "| %8s ", "| %-32s", "| %-31s |")
                 .line()
@@ -186,7 +240,8 @@ public class Application implements Runtime.Runnable {
                     //
                     tf.row(id, name, contact); // write row into table
                 });
-        return tf.line().get();
+        tf.line().flush();
+        return out;
     }
 
     /**
@@ -200,12 +255,32 @@ public class Application implements Runtime.Runnable {
      * @throws IllegalArgumentException with null arguments
      */
     public StringBuilder printArticles(Collection<Article> articles, PricingCategory pricingCategory) {
+        return printArticles(articles, pricingCategory, new StringBuilder());
+    }
+
+    /**
+     * Stream objects of class {@link Article} as table rows into an
+     * {@link Appendable}. Rows are written one at a time, output is the same
+     * as from {@link #printArticles(Collection, PricingCategory)}.
+     * 
+     * @param <A>             type of the output target
+     * @param articles        articles to print as row into table
+     * @param pricingCategory {@link PricingCategory} used to print articles (tax
+     *                        rate, currency)
+     * @param out             output target rows are written to
+     * @return output target for chaining
+     * @throws IllegalArgumentException with null arguments
+     * @throws UncheckedIOException when writing to the output target fails
+     */
+    public <A extends Appendable> A printArticles(Collection<Article> articles, PricingCategory pricingCategory, A out) {
         if (articles == null)
             throw new IllegalArgumentException("argument articles: null");
+        if (out == null)
+            throw new IllegalArgumentException("argument out: null");
         //
         var pricing = pricingCategory.pricing();
         //
-        final TableFormatter tf = new TableFormatter(
+        final TableFormatter tf = new TableFormatter(out,
                 // table column specification
                 "|%-10s", "| %-32s", "| %14s", "|%7s", "%-10s|")
                 .line() // table header
@@ -217,9 +292,9 @@ public class Application implements Runtime.Runnable {
                 .forEach(article -> {
                     var id = article.getId();
                     var description = article.getDescription();
-                    var price = fmtPrice(pricing.unitPrice(article), pricing.currency(), 1);
+                    var price = fmtPrice(pricingIndex.unitPrice(pricingCategory, article), pricing.currency(), 1);
                     var taxRate = pricing.taxRate(article);
-                    double percent = pricing.taxRateAsPercent(article);
+                    double percent = pricingIndex.vatBasisPoints(pricingCategory, article) / 100.0;
                     long lrd = (long) (percent * 10.0) % 10;
                     var vatRate = String.format((lrd == 0L ? "%.0f%s" : "%.1f%s"), percent, "%");
                     String vat = taxRate == TAXRate.Regular ? " normal"
@@ -228,7 +303,8 @@ public class Application implements Runtime.Runnable {
                     //
                     tf.row(id, description, price, vatRate, vat); // write row into table
                 });
-        return tf.line().get();
+        tf.line().flush();
+        return out;
     }
 
 
@@ -236,14 +312,15 @@ public class Application implements Runtime.Runnable {
      * Calculate a tax included in a gross (<i>"brutto"</i>) value based
      * on a given tax rate.
      * Applies to VAT taxes called <i>"Mehrwertsteuer" (MwSt.)</i> in Germany.
+     * The tax rate is converted to basis points and the tax is calculated
+     * exactly with commercial rounding by {@link VATCalculator}.
      * 
-     * @param grossValue value that includes the tax
-     * @param taxRate    applicable tax rate
+     * @param unitprice value that includes the tax
+     * @param percent   applicable tax rate in percent, e.g. 19.0
      * @return tax included in gross value or 0L if {@code gross value <= 0L}
      */
     public long calculateIncludedVAT(long unitprice, double percent) {
-        double unit = (long) (unitprice / (100 + percent)) * percent;
-        return (long) unit;
+        return VATCalculator.includedVAT(unitprice, (int) Math.round(percent * 100.0));
     }
 
     /**
@@ -255,42 +332,94 @@ public class Application implements Runtime.Runnable {
      * @throws IllegalArgumentException with null arguments
      */
     public long calculateOrderItemValue(Order.OrderItem item, Pricing pricing) {
-        var article = item.article();
-        //var pricing = article.getCategory().pricing();
-        var unitprice = pricing.unitPrice(article);
-
-        return unitprice;
-    } 
+        if (item == null || pricing == null)
+            throw new IllegalArgumentException("argument item or pricing: null");
+        return pricing.unitPrice(item.article()) * item.quantity();
+    }
 
     /**
-     * Calculate the VAT included in an order item price uding method:
-     * {@code calculateVAT(long grossValue, double taxRate)}.
+     * Calculate the VAT included in an order item value using method:
+     * {@code calculateOrderItemValue(OrderItem item, Pricing pricing)}.
      * @param item to calculate VAT for
      * @param pricing {@link Pricing} to find VAT tax rate applicable to article
      * @return VAT for ordered item
      * @throws IllegalArgumentException with null arguments
      */
+    public long calculateOrderItemVAT(Order.OrderItem item, Pricing pricing) {
+        var value = calculateOrderItemValue(item, pricing);
+        return VATCalculator.includedVAT(value, pricing.taxRateBasisPoints(item.article()));
+    }
+
+    /**
+     * Calculate the VAT included in order item values, articles are priced in
+     * their own {@link PricingCategory}. The VAT of the same items in an order
+     * of another category differs, see {@link #calculateOrderVAT(Order)} and
+     * {@link #calculateOrderItemVAT(List, PricingCategory)}.
+     * @param Items order items to calculate VAT for
+     * @return VAT for ordered items
+     * @throws IllegalArgumentException with null arguments
+     */
     public long calculateOrderItemVAT(List<OrderItem> Items) {
-        return Items.stream()
-                .mapToLong(i -> {
-                    var article = i.article();
-                    var pricing = article.getCategory().pricing();
-                    var unitprice = pricing.unitPrice(article);
-                    var taxRate = pricing.taxRateAsPercent(article); 
-                    //return (long) ((unitprice) / (100 + taxRate) * taxRate) * i.quantity();
-                    return calculateIncludedVAT(unitprice,taxRate);
-                }).sum();
+        return calculateOrderItemVAT(Items, null);
+    }
+
+    /**
+     * Calculate the VAT included in order item values priced in a
+     * {@link PricingCategory}, e.g. the category of their order.
+     * @param Items order items to calculate VAT for
+     * @param category pricing category, the category of each article when null
+     * @return VAT for ordered items
+     * @throws IllegalArgumentException with null items
+     */
+    public long calculateOrderItemVAT(List<OrderItem> Items, PricingCategory category) {
+        return OrderValuation.of(Items, category).vat();
+    }
+
+    /**
+     * Calculate the value of order items as sum of: {@code article.unitPrice *
+     * number of units ordered}, articles are priced in their own
+     * {@link PricingCategory}. The value of the same items in an order of
+     * another category differs, see {@link #calculateOrderValue(Order)} and
+     * {@link #calculateOrderValue(List, PricingCategory)}.
+     * @param Items order items to calculate value for
+     * @return value of ordered items
+     * @throws IllegalArgumentException with null arguments
+     */
+    public long calculateOrderValue(List<OrderItem> Items) {
+        return calculateOrderValue(Items, null);
+    }
+
+    /**
+     * Calculate the value of order items priced in a {@link PricingCategory},
+     * e.g. the category of their order.
+     * @param Items order items to calculate value for
+     * @param category pricing category, the category of each article when null
+     * @return value of ordered items
+     * @throws IllegalArgumentException with null items
+     */
+    public long calculateOrderValue(List<OrderItem> Items, PricingCategory category) {
+        return OrderValuation.of(Items, category).gross();
+    }
+
+    /**
+     * Calculate the value of an order in its {@link PricingCategory}.
+     * @param order order to calculate value for
+     * @return value of order
+     * @throws IllegalArgumentException with null arguments
+     */
+    public long calculateOrderValue(Order order) {
+        return OrderValuation.of(order).gross();
     }
 
-        private long calculateOrderValue(List<OrderItem> Items) {
-        return Items.stream()
-                .mapToLong(i -> {
-                    var article = i.article();
-                    var pricing = article.getCategory().pricing();
-                    var unitprice = pricing.unitPrice(article);
-                    return unitprice * i.quantity();
-                })
-                .sum();
+    /**
+     * Calculate the VAT included in the value of an order in its
+     * {@link PricingCategory}.
+     * @param order order to calculate VAT for
+     * @return VAT included in order value
+     * @throws IllegalArgumentException with null arguments
+     */
+    public long calculateOrderVAT(Order order) {
+        return OrderValuation.of(order).vat();
     }
 
     /**
@@ -302,53 +431,154 @@ public class Application implements Runtime.Runnable {
      * @throws IllegalArgumentException with null arguments
      */
     public StringBuilder printOrders(Collection<Order> orders) {
+        return printOrders(orders, new StringBuilder());
+    }
+
+    /**
+     * Stream objects of class {@link Order} as table rows into an
+     * {@link Appendable}. Rows are written one at a time such that memory use
+     * does not grow with the number of orders, output is the same as from
+     * {@link #printOrders(Collection)}.
+     * 
+     * @param <A>    type of the output target
+     * @param orders orders to print as row into table
+     * @param out    output target rows are written to
+     * @return output target for chaining
+     * @throws IllegalArgumentException with null arguments
+     * @throws UncheckedIOException when writing to the output target fails
+     */
+    public <A extends Appendable> A printOrders(Collection<Order> orders, A out) {
         if (orders == null)
-            throw new IllegalArgumentException("orders articles: null");
+            throw new IllegalArgumentException("argument orders: null");
+        if (out == null)
+            throw new IllegalArgumentException("argument out: null");
         //
+        final TableFormatter tf = printOrdersHeader(new TableFormatter(out, ORDER_COLUMNS));
+        final StringBuilder cell = new StringBuilder(64); // reused to build item cells
+        orders.stream()
+                .forEach(order -> printOrder(order, tf, cell));
+        tf.flush();
+        return out;
+    }
 
-        final TableFormatter tf = new TableFormatter(
-                // table column specification
-                "| %-10s ", "| %-28s", "| %-5s", " %-10s| ", "%-5s|", " %-10s|")
-                .line() // table header
+    /**
+     * Stream objects of class {@link Order} as table rows into an
+     * {@link Appendable} rendering chunks of orders in parallel. Orders are
+     * split into chunks of {@code chunkSize} orders, each chunk is rendered
+     * into its own buffer on a {@link ForkJoinPool} of {@code parallelism}
+     * threads. Buffers are written in the order of chunks such that output
+     * is the same as from {@link #printOrders(Collection, Appendable)}.
+     * At most {@code 2 * parallelism} chunks are rendered ahead of the chunk
+     * written next, which limits memory use. Orders are printed sequentially
+     * with {@code parallelism == 1} or when they fit into one chunk.
+     * 
+     * @param <A>         type of the output target
+     * @param orders      orders to print as row into table
+     * @param out         output target rows are written to
+     * @param parallelism number of threads rendering chunks
+     * @param chunkSize   number of orders rendered per chunk
+     * @return output target for chaining
+     * @throws IllegalArgumentException with null arguments, parallelism or
+     *         chunkSize less than 1
+     * @throws UncheckedIOException when writing to the output target fails
+     */
+    public <A extends Appendable> A printOrders(Collection<Order> orders, A out, int parallelism, int chunkSize) {
+        if (orders == null)
+            throw new IllegalArgumentException("argument orders: null");
+        if (out == null)
+            throw new IllegalArgumentException("argument out: null");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("argument parallelism: " + parallelism + ", must be at least 1");
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("argument chunkSize: " + chunkSize + ", must be at least 1");
+        //
+        if (parallelism == 1 || orders.size() <= chunkSize)
+            return printOrders(orders, out);
+        //
+        final TableFormatter tf = printOrdersHeader(new TableFormatter(out, ORDER_COLUMNS));
+        final Order[] array = orders.toArray(Order[]::new);
+        final int chunks = (array.length + chunkSize - 1) / chunkSize;
+        final int window = 2 * parallelism;
+        final ArrayDeque<ForkJoinTask<StringBuilder>> pending = new ArrayDeque<>(window);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int next = 0; // next chunk to submit
+            for (int written = 0; written < chunks; written++) {
+                // keep window of chunks rendering ahead of the chunk written next
+                while (next < chunks && pending.size() < window) {
+                    final int from = next++ * chunkSize;
+                    final int to = Math.min(from + chunkSize, array.length);
+                    pending.add(pool.submit(() -> printOrders(array, from, to)));
+                }
+                out.append(pending.remove().join());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pool.shutdownNow();
+        }
+        tf.flush();
+        return out;
+    }
+
+    /**
+     * Render a chunk of orders {@code [from, to)} into a new buffer.
+     */
+    private StringBuilder printOrders(Order[] orders, int from, int to) {
+        final TableFormatter tf = new TableFormatter(new StringBuilder(), ORDER_COLUMNS);
+        final StringBuilder cell = new StringBuilder(64);
+        for (int i = from; i < to; i++) {
+            printOrder(orders[i], tf, cell);
+        }
+        return tf.get();
+    }
+
+    /**
+     * Add header rows of the order table.
+     */
+    private TableFormatter printOrdersHeader(TableFormatter tf) {
+        return tf.line() // table header
                 .row("Bestell-ID", "Bestellungen", "MwSt", "Preis", "MsSt", "Gesamt")
                 .line();
-        //
-        orders.stream()
-                .forEach(order -> {
-                    final var id = order.getId();
-                    final var Customer = fmtCustomerName(order.getCustomer());
-                    final var Items = order.getItems();
-
-                    final var category = order.getCategory();
-                    final var currency = category.pricing().currency();
-
-                    final long sumPrice = calculateOrderValue(Items);
-                    final long sumTax = calculateOrderItemVAT(Items);
-
-                    final String fmtSumTax = fmtPrice(sumTax, currency, 1);
-                    final String fmtSumPrice = fmtPrice(sumPrice, currency, 1);
-
-                    tf.row(String.valueOf(id), Customer + "'s Bestellung", "", "", fmtSumTax, fmtSumPrice);
-                    Items.stream()
-                            .forEach(i -> {
-                                var article = i.article();
-                                var pricing = category.pricing();
-                                var unitprice = pricing.unitPrice(article);
-
-                                double percent = pricing.taxRateAsPercent(article);
-                                String taxPrice = fmtPrice(calculateIncludedVAT(unitprice, percent), pricing.currency(),1);
-                                       taxPrice = ((pricing.taxRateAsPercent(article) == 7.0)?"*":" ") + taxPrice;                                    
-
-                                String price = fmtPrice(unitprice * i.quantity(), pricing.currency(), 1);
-                                String articelName = String.valueOf(i.quantity()) + "x "
-                                        + article.getDescription() + " @ "
-                                        + fmtPrice(unitprice, pricing.currency(), 1);
-
-                                tf.row("", articelName,taxPrice, price, "", "", "");
-                            });
-                    tf.line();
+    }
+
+    /**
+     * Add rows of one order to the order table, {@code cell} is reused to
+     * build item cells.
+     */
+    private void printOrder(Order order, TableFormatter tf, StringBuilder cell) {
+        final var id = order.getId();
+        final var Customer = fmtCustomerName(order.getCustomer());
+
+        final var category = order.getCategory();
+        final var currency = category.pricing().currency();
+
+        // value and VAT of all items in one pass
+        final var valuation = OrderValuation.of(order);
+        final long sumPrice = valuation.gross();
+        final long sumTax = valuation.vat();
+
+        final String fmtSumTax = fmtPrice(sumTax, currency, 1);
+        final String fmtSumPrice = fmtPrice(sumPrice, currency, 1);
+
+        tf.row(String.valueOf(id), Customer + "'s Bestellung", "", "", fmtSumTax, fmtSumPrice);
+        order.forEachItem((article, quantity) -> {
+                    var unitprice = pricingIndex.unitPrice(category, article);
+                    var vatRate = pricingIndex.vatBasisPoints(category, article);
+                    var itemVAT = VATCalculator.includedVAT(unitprice * quantity, vatRate);
+
+                    cell.setLength(0);
+                    String taxPrice = MoneyFormatter.appendPrice(cell.append(vatRate == 700 ? '*' : ' '),
+                            itemVAT, currency, 1).toString();
+
+                    String price = fmtPrice(unitprice * quantity, currency, 1);
+                    cell.setLength(0);
+                    String articelName = MoneyFormatter.appendPrice(cell.append(quantity).append("x ")
+                            .append(article.getDescription()).append(" @ "), unitprice, currency, 1).toString();
+
+                    tf.row("", articelName,taxPrice, price, "", "", "");
                 });
-        return tf.get();
+        tf.line();
     }
 
     /**
@@ -362,6 +592,8 @@ public class Application implements Runtime.Runnable {
      *        4: "Meyer"        14: "MEYER"
      *        5: "Eric"         15: "ERIC"
      * </pre>
+     * Formatted names are cached by the customer, see
+     * {@link Customer#formatName(int)}.
      * 
      * @param customer Customer object
      * @param style    name formatting style
@@ -372,34 +604,7 @@ public class Application implements Runtime.Runnable {
         if (customer == null)
             throw new IllegalArgumentException("argument customer: null");
 
-        String ln = customer.getLastName();
-        String fn = customer.getFirstName();
-        String fn1 = fn.length() == 0 ? "" : fn.substring(0, 1).toUpperCase();
-
-        final int ft = style.length > 0 ? style[0] : 0; // 0 is default format
-        switch (ft) { // 0 is default
-            case 0:
-                return String.format(fn.length() > 0 ? "%s, %s" : "%s", ln, fn);
-            case 1:
-                return String.format(fn.length() > 0 ? "%s %s" : "%s%s", fn, ln);
-            case 2:
-                return String.format(fn.length() > 0 ? "%s, %s." : "%s", ln, fn1);
-            case 3:
-                return String.format(fn.length() > 0 ? "%s. %s" : "%s%s", fn1, ln);
-            case 4:
-                return ln;
-            case 5:
-                return fn.length() > 0 ? fn : ln;
-            case 10:
-            case 11:
-            case 12:
-            case 13:
-            case 14:
-            case 15:
-                return fmtCustomerName(customer, ft - 10).toUpperCase();
-            default:
-                return fmtCustomerName(customer, 0);
-        }
+        return customer.formatName(style.length > 0 ? style[0] : 0); // 0 is default format
     }
 
     /**
@@ -461,22 +666,8 @@ public class Application implements Runtime.Runnable {
      * @return price formatted according to selcted style
      */
     public String fmtPrice(long price, Pricing.Currency currency, int... style) {
-        final var cur = currency == null ? Pricing.Currency.Euro : currency;
         final int ft = style.length > 0 ? style[0] : 0; // 0 is default format
-        switch (ft) {
-            case 0:
-                return fmtDecimal(price, 2);
-            case 1:
-                return fmtDecimal(price, 2, " " + cur.code());
-            case 2:
-                return fmtDecimal(price, 2, cur.code());
-            case 3:
-                return fmtDecimal(price, 2, " " + cur.unicode());
-            case 4:
-                return fmtDecimal(price, 2, cur.unicode());
-            default:
-                return fmtPrice(price, cur, 0);
-        }
+        return MoneyFormatter.appendPrice(new StringBuilder(24), price, currency, ft).toString();
     }
 
     /**
@@ -493,32 +684,11 @@ public class Application implements Runtime.Runnable {
      * @param decimalDigits number of digits
      * @param unit          appended unit as String
      * @return decimal value formatted according to specified digit formatting
+     * @throws IllegalArgumentException with decimalDigits outside 0-3
      */
     public String fmtDecimal(long value, int decimalDigits, String... unit) {
         final String unitStr = unit.length > 0 ? unit[0] : null;
-        final Object[][] dec = {
-                { "%,d", 1L }, // no decimal digits: 16,000Y
-                { "%,d.%01d", 10L },
-                { "%,d.%02d", 100L }, // double-digit price: 169.99E
-                { "%,d.%03d", 1000L }, // triple-digit unit: 16.999-
-        };
-        String result;
-        String fmt = (String) dec[decimalDigits][0];
-        if (unitStr != null && unitStr.length() > 0) {
-            fmt += "%s"; // add "%s" to format for unit string
-        }
-        int decdigs = Math.max(0, Math.min(dec.length - 1, decimalDigits));
-        //
-        if (decdigs == 0) {
-            Object[] args = { value, unitStr };
-            result = String.format(fmt, args);
-        } else {
-            long digs = (long) dec[decdigs][1];
-            long frac = Math.abs(value % digs);
-            Object[] args = { value / digs, frac, unitStr };
-            result = String.format(fmt, args);
-        }
-        return result;
+        return MoneyFormatter.appendDecimal(new StringBuilder(24), value, decimalDigits, unitStr).toString();
     }
 
     /**
@@ -526,26 +696,130 @@ public class Application implements Runtime.Runnable {
      * of specified <i>width</i> and <i>alignment</i>. {@code String.format(fmt)}
      * specifications: <i>fmt</i> format cells in a row according to <i>width</i>
      * and <i>alignment</i> specifications.
+     * <p>
+     * Specifications are compiled once into {@link Column} layouts, cells are
+     * rendered by padding text directly into the row buffer.
      * 
      * @author sgra64
      */
     class TableFormatter {
 
         /**
-         * Format specifiers for each column.
+         * Compiled layout of a column from a {@code String.format(fmt)}
+         * specifier such as {@code "| %-32s"}: text before and after the
+         * {@code %s} specifier, text width and alignment.
+         * 
+         * @param prefix border text before cell text, e.g. {@code "| "}
+         * @param width  width of cell text, text is cut to this width
+         * @param left   {@code true} for left-aligned text ({@code '-'} flag)
+         * @param suffix border text after cell text
+         * @param blank  blank cell of full column width
+         * @param line   line segment drawn with default character {@code '-'}
          */
-        private final List<String> fmts;
+        private record Column(String prefix, int width, boolean left, String suffix, String blank, String line) {
+
+            /**
+             * Compile {@code String.format(fmt)} specifier to column layout.
+             * 
+             * @param fmt specifier with one {@code %s} or {@code %d} conversion
+             * @return compiled column layout
+             * @throws IllegalArgumentException with null or invalid specifier
+             */
+            static Column compile(String fmt) {
+                if (fmt == null)
+                    throw new IllegalArgumentException("argument fmt: null");
+                int i1 = fmt.indexOf('%');
+                int i = i1 + 1;
+                boolean left = i1 >= 0 && i < fmt.length() && fmt.charAt(i) == '-';
+                i += left ? 1 : 0;
+                int width = 0;
+                for (; i1 >= 0 && i < fmt.length() && Character.isDigit(fmt.charAt(i)); i++) {
+                    width = width * 10 + (fmt.charAt(i) - '0');
+                }
+                if (i1 < 0 || i >= fmt.length() || (fmt.charAt(i) != 's' && fmt.charAt(i) != 'd'))
+                    throw new IllegalArgumentException("invalid column specifier: \"" + fmt + "\"");
+                //
+                String prefix = fmt.substring(0, i1);
+                String suffix = fmt.substring(i + 1);
+                String blank = " ".repeat(prefix.length() + width + suffix.length());
+                String line = segment(prefix, width, suffix, '-');
+                return new Column(prefix, width, left, suffix, blank, line);
+            }
+
+            /**
+             * Append cell text cut and padded to column width.
+             * 
+             * @param sb   buffer to append to
+             * @param text cell text
+             */
+            void append(StringBuilder sb, String text) {
+                int len = Math.min(text.length(), width);
+                sb.append(prefix);
+                if (!left)
+                    pad(sb, width - len);
+                sb.append(text, 0, len);
+                if (left)
+                    pad(sb, width - len);
+                sb.append(suffix);
+            }
+
+            /**
+             * Append line segment filled with a character, {@code '|'} borders
+             * turn into {@code '+'}.
+             * 
+             * @param sb     buffer to append to
+             * @param filler fill character
+             */
+            void appendLine(StringBuilder sb, char filler) {
+                if (filler == '-') {
+                    sb.append(line);
+                } else {
+                    sb.append(segment(prefix, width, suffix, filler));
+                }
+            }
+
+            /**
+             * Build line segment for column parts.
+             */
+            private static String segment(String prefix, int width, String suffix, char filler) {
+                StringBuilder sb = new StringBuilder(prefix.length() + width + suffix.length());
+                for (String border : new String[] { prefix, null, suffix }) {
+                    if (border == null) {
+                        sb.append(String.valueOf(filler).repeat(width));
+                    } else {
+                        border.chars().forEach(c -> sb.append(c == '|' ? '+' : filler));
+                    }
+                }
+                return sb.toString();
+            }
+
+            /**
+             * Append {@code n} spaces.
+             */
+            private static void pad(StringBuilder sb, int n) {
+                for (int i = 0; i < n; i++) {
+                    sb.append(' ');
+                }
+            }
+        }
 
         /**
-         * Width of each column.
+         * Compiled layouts for each column.
          */
-        private final List<Integer> widths;
+        private final Column[] columns;
 
         /**
-         * Collect formatted rows.
+         * Collect formatted rows, or the current row only when rows are
+         * streamed to {@link #out}.
          */
         private final StringBuilder sb;
 
+        /**
+         * Target completed rows are written to, same as {@link #sb} when rows
+         * are collected.
+         */
+        private final Appendable out;
+
         /**
          * Constructor with String.format(fmt) specifiers for each column.
          * 
@@ -563,9 +837,21 @@ public class Application implements Runtime.Runnable {
          * @param fmtArgs String.format(fmt) specifiers for each column
          */
         public TableFormatter(StringBuilder sb, String... fmtArgs) {
-            this.sb = sb != null ? sb : new StringBuilder();
-            this.fmts = Arrays.stream(fmtArgs).toList();
-            this.widths = fmts.stream().map(fmt -> String.format(fmt, "").length()).toList();
+            this((Appendable) (sb != null ? sb : new StringBuilder()), fmtArgs);
+        }
+
+        /**
+         * Constructor with an output target to which each row is written when
+         * completed and String.format(fmt) specifiers for each column. Only
+         * the current row is buffered.
+         * 
+         * @param out     output target for table rows
+         * @param fmtArgs String.format(fmt) specifiers for each column
+         */
+        public TableFormatter(Appendable out, String... fmtArgs) {
+            this.out = out != null ? out : new StringBuilder();
+            this.sb = this.out instanceof StringBuilder b ? b : new StringBuilder();
+            this.columns = Arrays.stream(fmtArgs).map(Column::compile).toArray(Column[]::new);
         }
 
         /**
@@ -576,17 +862,13 @@ public class Application implements Runtime.Runnable {
          * @return chainable self-reference
          */
         public TableFormatter row(String... cells) {
-            IntStream.range(0, Math.min(fmts.size(), cells.length)).forEach(i -> {
-                sb.append(fillCell(i, cells[i], t -> {
-                    String fmt = fmts.get(i);
-                    int i1 = fmt.indexOf('%'); // offset width by format chars, e.g. '%-20s'
-                    int i2 = Math.max(fmt.indexOf('s'), fmt.indexOf('d')); // end '%s', '%d'
-                    int offset = fmt.length() - (i2 - i1) - 1;
-                    // cut cell text to effective column width
-                    t = t.substring(0, Math.min(t.length(), widths.get(i) - offset));
-                    return String.format(fmt, t);
-                }));
-            });
+            for (int i = 0; i < Math.min(columns.length, cells.length); i++) {
+                if (cells[i] != null) {
+                    columns[i].append(sb, cells[i]); // cut and pad cell text to column width
+                } else {
+                    sb.append(columns[i].blank());
+                }
+            }
             return this.endRow();
         }
 
@@ -605,21 +887,24 @@ public class Application implements Runtime.Runnable {
          */
         public TableFormatter line(String... segs) {
             if (segs.length == 0) { // print full line when segs is empty
-                String[] args = fmts.stream().map(f -> "").toArray(String[]::new);
-                return line(args); // invoke recursively with ""-args
+                for (Column column : columns) {
+                    sb.append(column.line());
+                }
+                return this.endRow();
+            }
+            for (int i = 0; i < Math.min(columns.length, segs.length); i++) {
+                if (segs[i] != null) {
+                    columns[i].appendLine(sb, segs[i].length() > 0 ? segs[i].charAt(0) : '-');
+                } else {
+                    sb.append(columns[i].blank());
+                }
             }
-            IntStream.range(0, Math.min(fmts.size(), segs.length)).forEach(i -> {
-                sb.append(fillCell(i, segs[i], s -> {
-                    s = s.length() > 0 ? s.substring(0, 1) : "-"; // filler char
-                    return String.format(fmts.get(i), "")
-                            .replaceAll("[^\\|]", s).replaceAll("[\\|]", "+");
-                }));
-            });
             return this.endRow();
         }
 
         /**
-         * Getter to collected table content.
+         * Getter to collected table content. Rows streamed to an output
+         * target are not collected.
          * 
          * @return table content
          */
@@ -628,15 +913,20 @@ public class Application implements Runtime.Runnable {
         }
 
         /**
-         * Fill table cell with provided text or spaces (blank cell).
+         * Flush output target if it buffers output, e.g. a {@link java.io.Writer}.
          * 
-         * @param i          column index
-         * @param text       text to fill
-         * @param cellFiller upcall to format cell fitted to column
-         * @return fitted String with text or spaces
+         * @return chainable self-reference
+         * @throws UncheckedIOException when flushing the output target fails
          */
-        private String fillCell(int i, String text, Function<String, String> cellFiller) {
-            return text != null ? cellFiller.apply(text) : " ".repeat(widths.get(i));
+        public TableFormatter flush() {
+            if (out instanceof Flushable f) {
+                try {
+                    f.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this;
         }
 
         /**
@@ -646,6 +936,14 @@ public class Application implements Runtime.Runnable {
          */
         private TableFormatter endRow() {
             sb.append("\n");
+            if (out != sb) { // write completed row to output target
+                try {
+                    out.append(sb);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                sb.setLength(0);
+            }
             return this;
         }
     }
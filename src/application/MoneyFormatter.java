@@ -0,0 +1,194 @@
+package application;
+
+import java.nio.CharBuffer;
+
+import datamodel.Pricing;
+
+/**
+ * Formatter for money values that appends digits, decimal part and currency
+ * directly into a caller-supplied {@link StringBuilder} or {@link CharBuffer}
+ * without creating intermediate objects. Output is the same as from
+ * {@code String.format("%,d.%02d%s")} with {@code ','} grouping:
+ *
+ * <pre>
+ * Example: long value: 123456
+ * style: 0: "1,234.56"
+ *        1: "1,234.56 EUR"     3: "1,234.56 €"
+ *        2: "1,234.56EUR"      4: "1,234.56€"
+ * </pre>
+ *
+ * Class is stateless and can be used from multiple threads.
+ */
+public final class MoneyFormatter {
+
+    /**
+     * Scale factors for 0 to 3 decimal digits.
+     */
+    private static final long[] SCALE = { 1L, 10L, 100L, 1000L };
+
+    /**
+     * Private constructor of static utility class.
+     */
+    private MoneyFormatter() {
+    }
+
+    /**
+     * Append price formatted according to a style (0 is default), see class
+     * description for styles.
+     *
+     * @param sb       buffer to append to
+     * @param price    long value as price in cent
+     * @param currency {@link Pricing.Currency} to obtain currency three-letter
+     *                 code or Unicode, Euro when {@code null}
+     * @param style    price formatting style, styles other than 0-4 fall back to 0
+     * @return buffer for chaining
+     */
+    public static StringBuilder appendPrice(StringBuilder sb, long price, Pricing.Currency currency, int style) {
+        appendDecimal(sb, price, 2, null);
+        if (style >= 1 && style <= 4) {
+            if (style == 1 || style == 3)
+                sb.append(' ');
+            sb.append(unit(currency, style));
+        }
+        return sb;
+    }
+
+    /**
+     * Put price formatted according to a style (0 is default) into a
+     * {@link CharBuffer}, see class description for styles.
+     *
+     * @param cb       buffer to put chars into
+     * @param price    long value as price in cent
+     * @param currency {@link Pricing.Currency} to obtain currency three-letter
+     *                 code or Unicode, Euro when {@code null}
+     * @param style    price formatting style, styles other than 0-4 fall back to 0
+     * @return buffer for chaining
+     * @throws java.nio.BufferOverflowException when buffer has insufficient space
+     */
+    public static CharBuffer appendPrice(CharBuffer cb, long price, Pricing.Currency currency, int style) {
+        appendDecimal(cb, price, 2, null);
+        if (style >= 1 && style <= 4) {
+            if (style == 1 || style == 3)
+                cb.put(' ');
+            cb.put(unit(currency, style));
+        }
+        return cb;
+    }
+
+    /**
+     * Append long value as decimal with grouped integral digits and a
+     * specified number of decimal digits, e.g. {@code 1699900} with 2 digits
+     * as {@code "16,999.00"}.
+     *
+     * @param sb            buffer to append to
+     * @param value         value to format
+     * @param decimalDigits number of decimal digits (0-3)
+     * @param unit          appended unit, no unit when {@code null}
+     * @return buffer for chaining
+     * @throws IllegalArgumentException with decimalDigits outside 0-3
+     */
+    public static StringBuilder appendDecimal(StringBuilder sb, long value, int decimalDigits, CharSequence unit) {
+        final long scale = scale(decimalDigits);
+        long n = value / scale; // integral part, digits are taken from negative n
+        if (n < 0) {
+            sb.append('-');
+        } else {
+            n = -n;
+        }
+        final int digits = digits(n);
+        long p = pow10(digits - 1);
+        for (int i = 0; i < digits; i++, p /= 10) {
+            if (i > 0 && (digits - i) % 3 == 0)
+                sb.append(',');
+            sb.append((char) ('0' - (n / p) % 10));
+        }
+        if (decimalDigits > 0) {
+            final long frac = Math.abs(value % scale);
+            sb.append('.');
+            for (long q = scale / 10; q > 0; q /= 10) {
+                sb.append((char) ('0' + (frac / q) % 10));
+            }
+        }
+        if (unit != null)
+            sb.append(unit);
+        return sb;
+    }
+
+    /**
+     * Put long value as decimal with grouped integral digits and a specified
+     * number of decimal digits into a {@link CharBuffer}.
+     *
+     * @param cb            buffer to put chars into
+     * @param value         value to format
+     * @param decimalDigits number of decimal digits (0-3)
+     * @param unit          appended unit, no unit when {@code null}
+     * @return buffer for chaining
+     * @throws IllegalArgumentException with decimalDigits outside 0-3
+     * @throws java.nio.BufferOverflowException when buffer has insufficient space
+     */
+    public static CharBuffer appendDecimal(CharBuffer cb, long value, int decimalDigits, CharSequence unit) {
+        final long scale = scale(decimalDigits);
+        long n = value / scale;
+        if (n < 0) {
+            cb.put('-');
+        } else {
+            n = -n;
+        }
+        final int digits = digits(n);
+        long p = pow10(digits - 1);
+        for (int i = 0; i < digits; i++, p /= 10) {
+            if (i > 0 && (digits - i) % 3 == 0)
+                cb.put(',');
+            cb.put((char) ('0' - (n / p) % 10));
+        }
+        if (decimalDigits > 0) {
+            final long frac = Math.abs(value % scale);
+            cb.put('.');
+            for (long q = scale / 10; q > 0; q /= 10) {
+                cb.put((char) ('0' + (frac / q) % 10));
+            }
+        }
+        if (unit != null)
+            cb.append(unit);
+        return cb;
+    }
+
+    /**
+     * Currency unit for a price style: code for styles 1, 2, Unicode for 3, 4.
+     */
+    private static String unit(Pricing.Currency currency, int style) {
+        final var cur = currency == null ? Pricing.Currency.Euro : currency;
+        return style <= 2 ? cur.code() : cur.unicode();
+    }
+
+    /**
+     * Scale factor for number of decimal digits.
+     */
+    private static long scale(int decimalDigits) {
+        if (decimalDigits < 0 || decimalDigits >= SCALE.length)
+            throw new IllegalArgumentException("argument decimalDigits: " + decimalDigits + ", must be 0-3");
+        return SCALE[decimalDigits];
+    }
+
+    /**
+     * Number of decimal digits of a value {@code <= 0}, 1 for 0.
+     */
+    private static int digits(long negative) {
+        int digits = 1;
+        for (long n = negative / 10; n != 0; n /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Power of ten for exponents 0-18.
+     */
+    private static long pow10(int exp) {
+        long p = 1L;
+        for (int i = 0; i < exp; i++) {
+            p *= 10;
+        }
+        return p;
+    }
+}
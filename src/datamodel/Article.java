@@ -9,6 +9,7 @@ public class Article {
     private final long unitPrice;
     private final Pricing.TAXRate taxRate;
     private final Pricing.PricingCategory category;
+    private final int index;
 
 
     /**
@@ -20,18 +21,22 @@ public class Article {
         this.unitPrice = 0;
         this.category = null;
         this.taxRate = null;
+        this.index = -1;
     }
 
 
     /**
      * Creates a new Article with the specified attributes.
+     * The index is a dense internal number (0, 1, 2, ...) assigned by
+     * {@link DataFactory} that is used to look up the article in arrays.
      */
-    Article(String id, String description, long unitPrice, Pricing.PricingCategory category, Pricing.TAXRate taxRate) {
+    Article(String id, String description, long unitPrice, Pricing.PricingCategory category, Pricing.TAXRate taxRate, int index) {
         this.id = id;
         this.description = description;
         this.unitPrice = unitPrice;
         this.category = category;
         this.taxRate = taxRate;
+        this.index = index;
     }
 
     public String getId() { return id; }
@@ -39,4 +44,6 @@ public class Article {
     public long getUnitPrice() { return unitPrice; }
     public Pricing.TAXRate getTaxRate() { return taxRate; }
     public Pricing.PricingCategory getCategory() { return category; }
+    /** Returns internal index of the article, -1 if not created by {@link DataFactory}. */
+    public int getIndex() { return index; }
 } 
\ No newline at end of file
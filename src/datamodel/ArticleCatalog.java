@@ -0,0 +1,294 @@
+package datamodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Catalog of all {@link Article} objects created by {@link DataFactory}
+ * with indexes for lookups by SKU and by description. Implements the
+ * Singleton pattern.
+ * <p>
+ * The SKU index maps the numeric part of article IDs ({@code "SKU-100004"}
+ * -&gt; {@code 100004}) to positions in the catalog in a primitive hash map.
+ * The description index maps each trigram (three consecutive characters) of
+ * descriptions to the positions of articles that contain it. A search for a
+ * fragment scans the shortest list of positions of its trigrams and verifies
+ * candidates, fragments shorter than three characters scan all articles.
+ * <p>
+ * Articles are registered by {@link DataFactory#createArticle}. Reads run
+ * concurrently with each other under a shared lock and see the catalog
+ * either before or after a registration, never in between.
+ */
+public final class ArticleCatalog {
+
+    private static final ArticleCatalog instance = new ArticleCatalog();
+
+    /**
+     * Prefix of article IDs.
+     */
+    private static final String SKU_PREFIX = "SKU-";
+
+    /**
+     * Guards all fields below, registrations take the write lock.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Articles in order of registration.
+     */
+    private Article[] articles = new Article[64];
+
+    /**
+     * Number of registered articles.
+     */
+    private int size;
+
+    /**
+     * SKU index: numeric part of article ID -&gt; position in {@link #articles}.
+     */
+    private final LongIntMap skuIndex = new LongIntMap(64);
+
+    /**
+     * Description index: packed trigram -&gt; number of its position list.
+     */
+    private final LongIntMap trigramIndex = new LongIntMap(256);
+
+    /**
+     * Position lists of trigrams in ascending order, the number of entries
+     * of each list is in {@link #postingCounts}.
+     */
+    private int[][] postings = new int[256][];
+
+    /**
+     * Number of positions in each list of {@link #postings}.
+     */
+    private int[] postingCounts = new int[256];
+
+    /**
+     * Number of position lists.
+     */
+    private int trigrams;
+
+    private ArticleCatalog() {
+    }
+
+    /**
+     * Returns the singleton instance of the ArticleCatalog.
+     * @return the singleton instance
+     */
+    public static ArticleCatalog getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers article in the catalog and its indexes.
+     * @param article article to register
+     * @throws IllegalArgumentException with null article, without SKU or
+     *         with an SKU already registered
+     */
+    void register(Article article) {
+        if (!registerIfAbsent(article))
+            throw new IllegalArgumentException("article " + article.getId() + " already registered");
+    }
+
+    /**
+     * Registers article in the catalog and its indexes unless an article
+     * with the same SKU is registered, test and registration are atomic.
+     * @param article article to register
+     * @return true if registered, false if the SKU is already registered
+     * @throws IllegalArgumentException with null article or without SKU
+     */
+    boolean registerIfAbsent(Article article) {
+        final long sku = article != null ? parseSku(article.getId()) : -1L;
+        if (sku < 0L)
+            throw new IllegalArgumentException("article without SKU");
+        final long stamp = lock.writeLock();
+        try {
+            if (skuIndex.get(sku) != LongIntMap.ABSENT)
+                return false;
+            if (size == articles.length) {
+                articles = Arrays.copyOf(articles, size * 2);
+            }
+            final int position = size;
+            articles[position] = article;
+            skuIndex.put(sku, position);
+            final String description = article.getDescription();
+            for (int i = 0; description != null && i + 3 <= description.length(); i++) {
+                addPosting(trigram(description, i), position);
+            }
+            size = position + 1;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of registered articles.
+     * @return number of articles
+     */
+    public int size() {
+        final long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Find article by the numeric part of its ID, e.g. 100004 for
+     * {@code "SKU-100004"}.
+     * @param sku numeric SKU
+     * @return article or empty Optional
+     */
+    public Optional<Article> findBySku(long sku) {
+        final long stamp = lock.readLock();
+        try {
+            final int position = skuIndex.get(sku);
+            return position != LongIntMap.ABSENT ? Optional.of(articles[position]) : Optional.empty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Find article by ID, e.g. {@code "SKU-100004"}.
+     * @param id article ID
+     * @return article or empty Optional, also for null or malformed IDs
+     */
+    public Optional<Article> findById(String id) {
+        final long sku = parseSku(id);
+        return sku >= 0L ? findBySku(sku) : Optional.empty();
+    }
+
+    /**
+     * Find all articles with descriptions that contain a fragment in order
+     * of registration.
+     * @param fragment fragment of description, e.g. {@code "Buch"}
+     * @return articles with matching descriptions, empty for null
+     */
+    public List<Article> findByDescription(String fragment) {
+        final List<Article> result = new ArrayList<>();
+        if (fragment != null) {
+            final long stamp = lock.readLock();
+            try {
+                match(fragment, Integer.MAX_VALUE, result);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find article by a specification, which is the article ID or a fragment
+     * of the description (in that order). The first registered article
+     * matching the description is returned.
+     * @param spec specification of an article by ID or by description
+     * @return article or empty Optional
+     */
+    public Optional<Article> find(String spec) {
+        if (spec == null)
+            return Optional.empty();
+        final Optional<Article> article = findById(spec);
+        if (article.isPresent())
+            return article;
+        final List<Article> result = new ArrayList<>(1);
+        final long stamp = lock.readLock();
+        try {
+            match(spec, 1, result);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Collect up to {@code limit} articles with descriptions containing a
+     * fragment, caller holds the read lock.
+     */
+    private void match(String fragment, int limit, List<Article> result) {
+        if (fragment.length() < 3) { // no trigram to look up, scan all
+            for (int p = 0; p < size && result.size() < limit; p++) {
+                final String description = articles[p].getDescription();
+                if (description != null && description.contains(fragment)) {
+                    result.add(articles[p]);
+                }
+            }
+            return;
+        }
+        // pick the shortest position list of all trigrams of the fragment
+        int shortest = LongIntMap.ABSENT;
+        for (int i = 0; i + 3 <= fragment.length(); i++) {
+            final int list = trigramIndex.get(trigram(fragment, i));
+            if (list == LongIntMap.ABSENT)
+                return; // trigram occurs in no description
+            if (shortest == LongIntMap.ABSENT || postingCounts[list] < postingCounts[shortest]) {
+                shortest = list;
+            }
+        }
+        final int[] positions = postings[shortest];
+        for (int j = 0; j < postingCounts[shortest] && result.size() < limit; j++) {
+            final Article article = articles[positions[j]];
+            if (article.getDescription().contains(fragment)) {
+                result.add(article);
+            }
+        }
+    }
+
+    /**
+     * Append position to the list of a trigram, positions are appended in
+     * ascending order and only once per article.
+     */
+    private void addPosting(long trigram, int position) {
+        int list = trigramIndex.get(trigram);
+        if (list == LongIntMap.ABSENT) {
+            if (trigrams == postings.length) {
+                postings = Arrays.copyOf(postings, trigrams * 2);
+                postingCounts = Arrays.copyOf(postingCounts, trigrams * 2);
+            }
+            list = trigrams++;
+            postings[list] = new int[4];
+            trigramIndex.put(trigram, list);
+        }
+        final int count = postingCounts[list];
+        int[] positions = postings[list];
+        if (count > 0 && positions[count - 1] == position)
+            return; // trigram occurs more than once in description
+        if (count == positions.length) {
+            positions = postings[list] = Arrays.copyOf(positions, count * 2);
+        }
+        positions[count] = position;
+        postingCounts[list] = count + 1;
+    }
+
+    /**
+     * Pack three characters starting at {@code i} into a key.
+     */
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * Parse numeric part of an article ID, e.g. 100004 for "SKU-100004".
+     * @param id article ID
+     * @return SKU or -1L for null or malformed IDs
+     */
+    public static long parseSku(String id) {
+        if (id == null || !id.startsWith(SKU_PREFIX) || id.length() == SKU_PREFIX.length()
+                || id.length() > SKU_PREFIX.length() + 18)
+            return -1L;
+        long sku = 0L;
+        for (int i = SKU_PREFIX.length(); i < id.length(); i++) {
+            final char c = id.charAt(i);
+            if (c < '0' || c > '9')
+                return -1L;
+            sku = sku * 10 + (c - '0');
+        }
+        return sku;
+    }
+}
@@ -0,0 +1,228 @@
+package datamodel;
+
+import java.util.Optional;
+
+/**
+ * Validation and normalisation of customer contacts by a single-pass
+ * scanner, no regular expressions are used. Contacts are classified as
+ * email address, phone or fax number and normalised into a canonical form
+ * such that the same contact written in different forms is recognised:
+ * <pre>
+ * "Eric98@Yahoo.com "         -&gt; Email: "eric98@yahoo.com"
+ * "(030) 3945-642298"         -&gt; Phone: "+49303945642298"
+ * "+49 30 3945-642298"        -&gt; Phone: "+49303945642298"
+ * "fax: (030)23451356"        -&gt; Fax:   "+493023451356"
+ * "locomandy&lt;&gt;gmx.de"         -&gt; invalid
+ * </pre>
+ * Phone numbers may contain digits, spaces and {@code "-/.()"} with a
+ * leading {@code '+'} or {@code "00"} for the country code. National
+ * numbers starting with {@code '0'} get the default country code +49.
+ * Canonical numbers have 6 to 15 digits. Prefixes {@code "fax:"},
+ * {@code "tel:"} and {@code "phone:"} are recognised ignoring case.
+ */
+public final class ContactValidator {
+
+    /**
+     * Country code of national numbers (Germany).
+     */
+    private static final String DEFAULT_COUNTRY_CODE = "49";
+
+    private static final int MIN_DIGITS = 6;
+    private static final int MAX_DIGITS = 15;
+
+    /**
+     * Kinds of contacts.
+     */
+    public enum Kind {
+        /** Email address. */
+        Email,
+        /** Phone number. */
+        Phone,
+        /** Fax number. */
+        Fax
+    }
+
+    /**
+     * Classified contact in canonical form.
+     *
+     * @param kind      kind of contact
+     * @param canonical canonical form, e.g. "+49303945642298"
+     */
+    public record Contact(Kind kind, String canonical) {
+
+        /**
+         * Returns the key of the contact, which is equal for all forms of
+         * the same contact, e.g. "fax:+493023451356".
+         * @return key of contact
+         */
+        public String key() {
+            return kind == Kind.Fax ? "fax:" + canonical : canonical;
+        }
+    }
+
+    /**
+     * Private constructor of static utility class.
+     */
+    private ContactValidator() {
+    }
+
+    /**
+     * Test whether a contact is valid.
+     * @param contact contact to test
+     * @return true if contact is a valid email address, phone or fax number
+     */
+    public static boolean isValid(String contact) {
+        return parse(contact).isPresent();
+    }
+
+    /**
+     * Returns the key of a contact, see {@link Contact#key()}.
+     * @param contact contact
+     * @return key of contact or null if contact is invalid
+     */
+    public static String key(String contact) {
+        return parse(contact).map(Contact::key).orElse(null);
+    }
+
+    /**
+     * Classify and normalise a contact.
+     * @param contact contact to parse
+     * @return classified contact in canonical form or empty Optional if
+     *         contact is null or invalid
+     */
+    public static Optional<Contact> parse(String contact) {
+        if (contact == null)
+            return Optional.empty();
+        int i = 0, end = contact.length();
+        while (i < end && contact.charAt(i) <= ' ') {
+            i++;
+        }
+        while (end > i && contact.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        Kind kind = null;
+        int p;
+        if ((p = prefix(contact, i, end, "fax:")) > 0) {
+            kind = Kind.Fax;
+        } else if ((p = Math.max(prefix(contact, i, end, "tel:"), prefix(contact, i, end, "phone:"))) > 0) {
+            kind = Kind.Phone;
+        }
+        if (kind != null) {
+            i = p;
+            while (i < end && contact.charAt(i) == ' ') {
+                i++;
+            }
+            return phone(contact, i, end, kind);
+        }
+        for (int j = i; j < end; j++) {
+            if (contact.charAt(j) == '@')
+                return email(contact, i, end);
+        }
+        return phone(contact, i, end, Kind.Phone);
+    }
+
+    /**
+     * Scan email address {@code local@domain.tld} into lower case.
+     */
+    private static Optional<Contact> email(String s, int from, int end) {
+        final char[] out = new char[end - from];
+        int n = 0;
+        int at = -1; // position of '@' in out
+        int label = 0; // length of current domain label
+        int labels = 0;
+        boolean letters = true; // current label has letters only
+        char prev = 0;
+        for (int i = from; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            final boolean alnum = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+            if (at < 0) { // local part
+                if (c == '@') {
+                    if (n == 0 || prev == '.')
+                        return Optional.empty();
+                    at = n;
+                } else if (!alnum && "._%+-".indexOf(c) < 0 || (c == '.' && (n == 0 || prev == '.'))) {
+                    return Optional.empty();
+                }
+            } else { // domain
+                if (alnum || c == '-') {
+                    if (c == '-' && label == 0)
+                        return Optional.empty();
+                    letters &= c >= 'a' && c <= 'z';
+                    label++;
+                } else if (c == '.') {
+                    if (label == 0 || prev == '-')
+                        return Optional.empty();
+                    labels++;
+                    label = 0;
+                    letters = true;
+                } else {
+                    return Optional.empty();
+                }
+            }
+            out[n++] = c;
+            prev = c;
+        }
+        // at least two labels, top level domain of two or more letters
+        if (at < 0 || labels == 0 || label < 2 || !letters)
+            return Optional.empty();
+        return Optional.of(new Contact(Kind.Email, new String(out, 0, n)));
+    }
+
+    /**
+     * Scan phone number into {@code '+'} and digits.
+     */
+    private static Optional<Contact> phone(String s, int from, int end, Kind kind) {
+        final char[] digits = new char[end - from + DEFAULT_COUNTRY_CODE.length() + 1];
+        int n = 0;
+        boolean plus = false;
+        int parens = 0;
+        for (int i = from; i < end; i++) {
+            final char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[n++] = c;
+            } else if (c == '+') {
+                if (n > 0 || plus || parens > 0)
+                    return Optional.empty();
+                plus = true;
+            } else if (c == '(') {
+                if (parens > 0)
+                    return Optional.empty();
+                parens++;
+            } else if (c == ')') {
+                if (parens == 0)
+                    return Optional.empty();
+                parens--;
+            } else if (c != ' ' && c != '-' && c != '/' && c != '.') {
+                return Optional.empty();
+            }
+        }
+        if (parens != 0 || n == 0)
+            return Optional.empty();
+        final String number;
+        if (plus) {
+            number = "+" + new String(digits, 0, n);
+        } else if (n > 2 && digits[0] == '0' && digits[1] == '0') {
+            number = "+" + new String(digits, 2, n - 2);
+        } else if (n > 1 && digits[0] == '0') {
+            number = "+" + DEFAULT_COUNTRY_CODE + new String(digits, 1, n - 1);
+        } else {
+            number = new String(digits, 0, n);
+        }
+        final int count = number.charAt(0) == '+' ? number.length() - 1 : number.length();
+        if (count < MIN_DIGITS || count > MAX_DIGITS)
+            return Optional.empty();
+        return Optional.of(new Contact(kind, number));
+    }
+
+    /**
+     * Match prefix ignoring case.
+     * @return position after prefix or -1
+     */
+    private static int prefix(String s, int from, int end, String prefix) {
+        return end - from >= prefix.length() && s.regionMatches(true, from, prefix, 0, prefix.length())
+                ? from + prefix.length() : -1;
+    }
+}
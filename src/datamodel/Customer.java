@@ -1,6 +1,9 @@
 package datamodel;
 
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -8,10 +11,39 @@ import java.util.Set;
  * Contains customer's personal information including name and contact details.
  */
 public class Customer {
+
+    /**
+     * Keep first and last names as offsets into the name instead of separate
+     * strings, set by system property {@code customer.compact-names=true}.
+     */
+    private static final boolean compactNames = Boolean.getBoolean("customer.compact-names");
+
+    /**
+     * Intern contact strings such that equal contacts of many customers share
+     * one string, set by system property {@code customer.intern-contacts=true}.
+     */
+    private static final boolean internContacts = Boolean.getBoolean("customer.intern-contacts");
+
+    /**
+     * Number of contacts above which canonical keys are held in a set
+     * instead of being compared one by one.
+     */
+    private static final int CONTACT_KEYS_THRESHOLD = 8;
+
+    private static final String[] NO_CONTACTS = {};
+
     private long id;
-    private String firstName;
-    private String lastName;
-    private Set<String> contacts;
+    private String firstName;     // null with compact names
+    private String lastName;      // null with compact names
+    private String name;          // name with compact names, null otherwise
+    private long nameOffsets;     // offsets of first and last name in name, see NameParser
+    private String[] contacts = NO_CONTACTS;  // contacts in order of insertion, filled up to contactCount
+    private String[] keys = NO_CONTACTS;  // canonical forms of contacts, parallel to contacts, see ContactValidator
+    private int contactCount;
+    private Set<String> contactKeys;  // canonical forms of contacts beyond threshold
+    private Set<String> contactsView;  // view of contacts, created once, see getContacts()
+    private String[] formattedNames;  // names formatted by style, filled lazily, see formatName(int)
+    private volatile boolean registered;  // set by CustomerRegistry, contacts added later are indexed
 
     /**
      * Creates a new Customer with the specified name and initial contact information.
@@ -21,7 +53,6 @@ public class Customer {
      */
     public Customer(long id, String name, String contact) {
         this.id = id;
-        this.contacts = new HashSet<>();
         parseName(name);
         if (contact != null) {
             addContact(contact);
@@ -29,36 +60,90 @@ public class Customer {
     }
 
     /**
-     * Parses the full name into first name and last name components.
-     * Handles names in formats: "lastName, firstName" or "firstName lastName"
+     * Parses the full name into first name and last name components by
+     * {@link NameParser}. Handles names in formats: "lastName, firstName" or
+     * "firstName middleNames lastName" with particles, e.g. "van Beethoven".
+     * With compact names, only the name and the offsets are kept.
      * 
      * @param name the full name to parse
      */
     private void parseName(String name) {
-        String[] parts = name.split(",");
-        if (parts.length > 1) {
-            this.lastName = parts[0].trim();
-            this.firstName = parts[1].trim();
+        final long offsets = NameParser.parse(name);
+        this.formattedNames = null;     // invalidate formatted names
+        if (compactNames) {
+            this.name = name;
+            this.nameOffsets = offsets;
         } else {
-            parts = name.split(" ");
-            this.firstName = parts[0].trim();
-            this.lastName = parts.length > 1 ? parts[parts.length - 1].trim() : "";
+            this.firstName = NameParser.firstName(name, offsets);
+            this.lastName = NameParser.lastName(name, offsets);
         }
     }
 
     /**
-     * Adds a new contact information to this customer.
+     * Adds a new contact information to this customer. Contacts must be valid
+     * email addresses, phone or fax numbers, invalid contacts and contacts
+     * that exist in another form (e.g. "030 3945642298" and
+     * "(030) 3945-642298") are ignored, see {@link ContactValidator}.
+     * Contacts of customers in the {@link CustomerRegistry} are indexed.
      * 
      * @param contact the contact information to add
      * @return this Customer instance for method chaining
      */
     public Customer addContact(String contact) {
-        if (contact != null) {
-            contacts.add(contact);
+        final String key = ContactValidator.key(contact);
+        if (key != null && !hasContactKey(key)) {
+            final String trimmed = contact.trim();
+            if (contactCount == contacts.length) {
+                // grow geometrically, slots below contactCount are never written again
+                final int n = Math.max(2, contactCount * 2);
+                contacts = Arrays.copyOf(contacts, n);
+                keys = Arrays.copyOf(keys, n);
+            }
+            contacts[contactCount] = internContacts ? trimmed.intern() : trimmed;
+            keys[contactCount] = key;
+            contactCount++;
+            if (contactKeys != null) {
+                contactKeys.add(key);
+            } else if (contactCount > CONTACT_KEYS_THRESHOLD) {
+                contactKeys = new HashSet<>(Arrays.asList(keys).subList(0, contactCount));
+            }
+            if (registered) {
+                CustomerRegistry.getInstance().contactAdded(this, key);
+            }
         }
         return this;
     }
 
+    /**
+     * Mark customer as registered, called by {@link CustomerRegistry#register}
+     * after contacts were indexed.
+     */
+    void registered() {
+        registered = true;
+    }
+
+    /**
+     * Test whether customer has a contact with a canonical key, few contacts
+     * are compared one by one.
+     */
+    private boolean hasContactKey(String key) {
+        if (contactKeys != null)
+            return contactKeys.contains(key);
+        for (int i = 0; i < contactCount; i++) {
+            if (key.equals(keys[i]))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the canonical form of a contact, see {@link ContactValidator}.
+     * @param i position of contact in order of insertion
+     */
+    String contactKey(int i) {
+        return keys[i];
+    }
+
     /**
      * Returns the unique identifier of this customer.
      * @return the customer's ID
@@ -72,7 +157,7 @@ public class Customer {
      * @return the customer's first name
      */
     public String getFirstName() {
-        return firstName;
+        return firstName != null ? firstName : NameParser.firstName(name, nameOffsets);
     }
 
     /**
@@ -80,15 +165,86 @@ public class Customer {
      * @return the customer's last name
      */
     public String getLastName() {
-        return lastName;
+        return lastName != null ? lastName : NameParser.lastName(name, nameOffsets);
+    }
+
+    /**
+     * Format name according to a style (0 is default), other styles format
+     * as style 0. Formatted names are computed once per style and cached.
+     * 
+     * <pre>
+     * style: 0: "Meyer, Eric"  10: "MEYER, ERIC"
+     *        1: "Eric Meyer"   11: "ERIC MEYER"
+     *        2: "Meyer, E."    12: "MEYER, E."
+     *        3: "E. Meyer"     13: "E. MEYER"
+     *        4: "Meyer"        14: "MEYER"
+     *        5: "Eric"         15: "ERIC"
+     * </pre>
+     * 
+     * @param style name formatting style
+     * @return name formatted according to the style
+     */
+    public String formatName(int style) {
+        final int ft = style >= 0 && style < 16 && (style % 10) < 6 ? style : 0;
+        String[] names = formattedNames;
+        if (names == null) {
+            // concurrent callers may each create an array, names are equal
+            formattedNames = names = new String[16];
+        }
+        String formatted = names[ft];
+        if (formatted == null) {
+            formatted = ft < 10 ? formatName(getLastName(), getFirstName(), ft) : formatName(ft - 10).toUpperCase();
+            names[ft] = formatted;
+        }
+        return formatted;
+    }
+
+    /**
+     * Format name for styles 0 - 5 by concatenation.
+     */
+    private static String formatName(String ln, String fn, int style) {
+        final boolean hasFn = fn.length() > 0;
+        final String fn1 = hasFn ? fn.substring(0, 1).toUpperCase() : "";
+        switch (style) {
+            case 1:
+                return hasFn ? fn + " " + ln : ln;
+            case 2:
+                return hasFn ? ln + ", " + fn1 + "." : ln;
+            case 3:
+                return hasFn ? fn1 + ". " + ln : ln;
+            case 4:
+                return ln;
+            case 5:
+                return hasFn ? fn : ln;
+            default:
+                return hasFn ? ln + ", " + fn : ln;
+        }
     }
 
     /**
-     * Returns all contact information for this customer.
-     * @return set of contact information
+     * Returns all contact information for this customer in the order
+     * contacts were added. The view is created once and reflects contacts
+     * added later, iterators see the contacts at the time they were created.
+     * @return unmodifiable set of contact information
      */
     public Set<String> getContacts() {
-        return contacts;
+        Set<String> view = contactsView;
+        if (view == null) {
+            // concurrent callers may each create a view, views are equal
+            contactsView = view = new AbstractSet<>() {
+                @Override
+                public Iterator<String> iterator() {
+                    final int n = contactCount;    // read before the array, which only grows
+                    return Arrays.asList(contacts).subList(0, n).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return contactCount;
+                }
+            };
+        }
+        return view;
     }
 
     /**
@@ -96,6 +252,6 @@ public class Customer {
      * @return the count of contact information entries
      */
     public long contactsCount() {
-        return contacts.size();
+        return contactCount;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,324 @@
+package datamodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Registry of all {@link Customer} objects created by {@link DataFactory}
+ * with indexes for lookups by ID, by name and by contact. Implements the
+ * Singleton pattern.
+ * <pre>
+ * ID index:      customer ID          -&gt; position (primitive hash map)
+ * name index:    case-folded name     -&gt; positions, last names, first names
+ *                                        and each word of first names
+ * contact index: contact key         -&gt; position of first customer
+ * </pre>
+ * Customers are registered by {@link DataFactory#createCustomer}, contacts
+ * are indexed at registration, contacts added later with
+ * {@link Customer#addContact(String)} are indexed when they are added.
+ * Contacts are indexed by their canonical form such that any form of a
+ * contact finds the customer, see {@link ContactValidator}.
+ * Reads run concurrently under a shared lock and see the registry either
+ * before or after an update, never in between.
+ */
+public final class CustomerRegistry {
+
+    private static final CustomerRegistry instance = new CustomerRegistry();
+
+    /**
+     * Guards all fields below, updates take the write lock.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Customers in order of registration.
+     */
+    private Customer[] customers = new Customer[64];
+
+    /**
+     * Number of registered customers.
+     */
+    private int size;
+
+    /**
+     * ID index: customer ID -&gt; position in {@link #customers}.
+     */
+    private final LongIntMap idIndex = new LongIntMap(64);
+
+    /**
+     * Last name index: case-folded last name -&gt; positions.
+     */
+    private final Map<String, Positions> lastNameIndex = new HashMap<>();
+
+    /**
+     * First name index: case-folded first name -&gt; positions.
+     */
+    private final Map<String, Positions> firstNameIndex = new HashMap<>();
+
+    /**
+     * Contact index: contact key -&gt; position of first customer with contact.
+     */
+    private final Map<String, Integer> contactIndex = new HashMap<>();
+
+    /**
+     * Growing list of positions in ascending order.
+     */
+    private static final class Positions {
+        private int[] positions = new int[1];
+        private int count;
+
+        void add(int position) {
+            if (count > 0 && positions[count - 1] == position)
+                return; // same customer, e.g. first name "Jan Jan"
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+
+    private CustomerRegistry() {
+    }
+
+    /**
+     * Returns the singleton instance of the CustomerRegistry.
+     * @return the singleton instance
+     */
+    public static CustomerRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers customer in the registry and its indexes.
+     * @param customer customer to register
+     * @throws IllegalArgumentException with null customer or when ID is
+     *         already registered
+     */
+    void register(Customer customer) {
+        if (!registerIfAbsent(customer))
+            throw new IllegalArgumentException("customer " + customer.getId() + " already registered");
+    }
+
+    /**
+     * Registers customer in the registry and its indexes unless a customer
+     * with the same ID is registered, test and registration are atomic.
+     * @param customer customer to register
+     * @return true if registered, false if the ID is already registered
+     * @throws IllegalArgumentException with null customer
+     */
+    boolean registerIfAbsent(Customer customer) {
+        if (customer == null)
+            throw new IllegalArgumentException("argument customer: null");
+        final long stamp = lock.writeLock();
+        try {
+            if (idIndex.get(customer.getId()) != LongIntMap.ABSENT)
+                return false;
+            if (size == customers.length) {
+                customers = Arrays.copyOf(customers, size * 2);
+            }
+            final int position = size;
+            customers[position] = customer;
+            idIndex.put(customer.getId(), position);
+            index(lastNameIndex, customer.getLastName(), position);
+            indexTokens(firstNameIndex, customer.getFirstName(), position);
+            for (int i = 0, n = (int) customer.contactsCount(); i < n; i++) {
+                contactIndex.putIfAbsent(customer.contactKey(i), position);
+            }
+            size = position + 1;
+            customer.registered();
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Index contact added to a customer, called by
+     * {@link Customer#addContact(String)}. Customers that are not registered
+     * are ignored.
+     * @param customer customer contact was added to
+     * @param key key of added contact, see {@link ContactValidator.Contact#key()}
+     */
+    void contactAdded(Customer customer, String key) {
+        final long stamp = lock.writeLock();
+        try {
+            final int position = idIndex.get(customer.getId());
+            if (position != LongIntMap.ABSENT && customers[position] == customer) {
+                contactIndex.putIfAbsent(key, position);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of registered customers.
+     * @return number of customers
+     */
+    public int size() {
+        final long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Find customer by ID.
+     * @param id customer ID
+     * @return customer or empty Optional
+     */
+    public Optional<Customer> findById(long id) {
+        final long stamp = lock.readLock();
+        try {
+            final int position = idIndex.get(id);
+            return position != LongIntMap.ABSENT ? Optional.of(customers[position]) : Optional.empty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Find all customers with a last or first name, case is ignored, e.g.
+     * {@code "meyer"} finds "Eric Meyer".
+     * @param name last or first name
+     * @return customers with matching names in order of registration
+     */
+    public List<Customer> findByName(String name) {
+        final List<Customer> result = new ArrayList<>();
+        if (name != null) {
+            final String key = fold(name);
+            final long stamp = lock.readLock();
+            try {
+                final Positions last = lastNameIndex.get(key);
+                final Positions first = firstNameIndex.get(key);
+                // merge both ascending position lists
+                int i = 0, j = 0;
+                final int n = last != null ? last.count : 0;
+                final int m = first != null ? first.count : 0;
+                while (i < n || j < m) {
+                    final int p = j == m || (i < n && last.positions[i] <= first.positions[j])
+                            ? last.positions[i++] : first.positions[j++];
+                    if (j < m && first.positions[j] == p) {
+                        j++; // same customer in both lists
+                    }
+                    result.add(customers[p]);
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find customer by contact, e.g. email address or phone number in any
+     * form, e.g. "+49 30 3945-642298" finds a customer with contact
+     * "(030) 3945-642298".
+     * @param contact contact to find
+     * @return first registered customer with contact or empty Optional
+     */
+    public Optional<Customer> findByContact(String contact) {
+        final String key = ContactValidator.key(contact);
+        if (key == null)
+            return Optional.empty();
+        final long stamp = lock.readLock();
+        try {
+            final Integer position = contactIndex.get(key);
+            return position != null ? Optional.of(customers[position]) : Optional.empty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Find customer by a specification, which is the ID or the last name or
+     * the first name (in that order), case of names is ignored. The first
+     * registered customer matching a name is returned.
+     * @param spec specification of a customer by ID or by name
+     * @return customer or empty Optional
+     */
+    public Optional<Customer> find(String spec) {
+        if (spec == null)
+            return Optional.empty();
+        final long id = parseId(spec);
+        if (id >= 0L) {
+            final Optional<Customer> customer = findById(id);
+            if (customer.isPresent())
+                return customer;
+        }
+        final String key = fold(spec);
+        final long stamp = lock.readLock();
+        try {
+            Positions positions = lastNameIndex.get(key);
+            if (positions == null) {
+                positions = firstNameIndex.get(key);
+            }
+            return positions != null ? Optional.of(customers[positions.positions[0]]) : Optional.empty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Add position to the list of a name, empty names are not indexed.
+     */
+    private static void index(Map<String, Positions> index, String name, int position) {
+        if (name != null && !name.isEmpty()) {
+            index.computeIfAbsent(fold(name), k -> new Positions()).add(position);
+        }
+    }
+
+    /**
+     * Add position to the lists of a name and of each of its words, e.g.
+     * "Anne-Marie Luise", "Anne-Marie" and "Luise".
+     */
+    private static void indexTokens(Map<String, Positions> index, String name, int position) {
+        index(index, name, position);
+        int i = 0;
+        final int n = name.length();
+        while (i < n) {
+            while (i < n && Character.isWhitespace(name.charAt(i))) {
+                i++;
+            }
+            final int start = i;
+            while (i < n && !Character.isWhitespace(name.charAt(i))) {
+                i++;
+            }
+            if (start < i && (start > 0 || i < n)) { // word of a name of more than one word
+                index(index, name.substring(start, i), position);
+            }
+        }
+    }
+
+    /**
+     * Case-fold name for index keys.
+     */
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parse decimal ID without creating objects.
+     * @return ID or -1L if spec is not a decimal number
+     */
+    private static long parseId(String spec) {
+        if (spec.isEmpty() || spec.length() > 18)
+            return -1L;
+        long id = 0L;
+        for (int i = 0; i < spec.length(); i++) {
+            final char c = spec.charAt(i);
+            if (c < '0' || c > '9')
+                return -1L;
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
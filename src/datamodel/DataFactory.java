@@ -1,6 +1,8 @@
 package datamodel;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Function;
 
 import datamodel.Pricing.PricingCategory;
 import datamodel.order.OrderBuilder;
@@ -9,11 +11,15 @@ import datamodel.order.OrderBuilder;
  * Factory class for creating domain objects in the system.
  * Implements the Singleton pattern to ensure only one factory instance exists.
  * All domain objects (Customer, Article, Order) should be created through this factory.
+ * The factory can be used from multiple threads, IDs are drawn from lock-free
+ * {@link sID} generators without a global lock.
  */
 public class DataFactory {
     private static final DataFactory instance = new DataFactory();
-    private final sID sID = new sID();  // Counter for IDs
-    private final sID articleId = new sID(100000);
+    private final sID customerId = new sID();  // Counter for customer IDs
+    private static final long ARTICLE_ID_START = 100000;
+    private static final long ARTICLE_ID_END = 999999;  // last six-digit SKU, bounds dense indexes of PricingIndex
+    private final sID articleId = new sID(ARTICLE_ID_START);  // Counter for "SKU-" article IDs
 
     private DataFactory() {}  // private constructor for singleton
 
@@ -29,14 +35,19 @@ public class DataFactory {
      * Creates a new Customer with the specified name and contact information.
      * 
      * @param name the customer's name (required, non-empty)
-     * @param contact the customer's initial contact information (optional)
+     * @param contact the customer's initial contact information (optional), must be a
+     *        valid email address, phone or fax number, see {@link ContactValidator}
      * @return Optional containing the created Customer if successful, empty Optional if invalid input
+     * @see CustomerRegistry
      */
     public Optional<Customer> createCustomer(String name, String contact) {
-        if (name == null || name.trim().isEmpty()) {
+        if (name == null || name.trim().isEmpty() || name.length() > NameParser.MAX_LENGTH
+                || (contact != null && !ContactValidator.isValid(contact))) {
             return Optional.empty();
         }
-        return Optional.of(new Customer(sID.nextLong(), name, contact));
+        var customer = new Customer(customerId.nextLong(), name, contact);
+        CustomerRegistry.getInstance().register(customer);
+        return Optional.of(customer);
     }
 
     /**
@@ -47,6 +58,7 @@ public class DataFactory {
      * @param category the pricing category for the article
      * @param taxRate optional tax rate, defaults to Regular if not specified
      * @return Optional containing the created Article if successful, empty Optional if invalid input
+     * @see ArticleCatalog
      */
     public Optional<Article> createArticle(String description, long unitPrice,Pricing.PricingCategory category, Pricing.TAXRate... taxRate) {
         
@@ -55,11 +67,67 @@ public class DataFactory {
             return Optional.empty();
         }
         Pricing.TAXRate tax = taxRate.length > 0 ? taxRate[0] : Pricing.TAXRate.Regular;
-        String id = articleId.nextString("SKU-");
-        return Optional.of(new Article(id, description, unitPrice, category, tax));
+        long sku = articleId.next();
+        int index = (int) (sku - ARTICLE_ID_START - 1);  // dense index: SKU-100001 -> 0
+        var article = new Article(sID.format("SKU-", sku), description, unitPrice, category, tax, index);
+        PricingIndex.getInstance().register(article);
+        ArticleCatalog.getInstance().register(article);
+        return Optional.of(article);
     }
 
 
+    /**
+     * Restores a Customer with a stored ID, e.g. when loading persisted data.
+     * The customer ID generator is advanced past the ID.
+     * 
+     * @param id the stored customer ID
+     * @param lastName the customer's last name
+     * @param firstName the customer's first name
+     * @param contacts the customer's contacts
+     * @return Optional containing the restored Customer, empty Optional if
+     *         invalid input or a customer with the ID exists
+     */
+    public Optional<Customer> restoreCustomer(long id, String lastName, String firstName, Collection<String> contacts) {
+        if (lastName == null || firstName == null || (lastName + firstName).isBlank()
+                || CustomerRegistry.getInstance().findById(id).isPresent()) {
+            return Optional.empty();    // fast path, registration below decides
+        }
+        customerId.advanceTo(id);
+        var customer = new Customer(id, lastName + ", " + firstName, null);
+        if (contacts != null) {
+            contacts.forEach(customer::addContact);
+        }
+        return CustomerRegistry.getInstance().registerIfAbsent(customer) ? Optional.of(customer) : Optional.empty();
+    }
+
+    /**
+     * Restores an Article with a stored ID, e.g. when loading persisted data.
+     * The article ID generator is advanced past the ID.
+     * 
+     * @param id the stored article ID, e.g. "SKU-100004"
+     * @param description the article's description (required, non-empty)
+     * @param unitPrice the price per unit in smallest currency unit (e.g., cents)
+     * @param category the pricing category for the article
+     * @param taxRate the tax rate of the article
+     * @return Optional containing the restored Article, empty Optional if
+     *         invalid input, an ID other than SKU-100001 to SKU-999999 or
+     *         an article with the ID exists
+     */
+    public Optional<Article> restoreArticle(String id, String description, long unitPrice, Pricing.PricingCategory category, Pricing.TAXRate taxRate) {
+        final long sku = ArticleCatalog.parseSku(id);
+        if (sku <= ARTICLE_ID_START || sku > ARTICLE_ID_END || description == null || description.trim().isEmpty() || unitPrice < 0
+                || taxRate == null || ArticleCatalog.getInstance().findBySku(sku).isPresent()) {
+            return Optional.empty();    // fast path, registration below decides
+        }
+        articleId.advanceTo(sku);
+        var article = new Article(sID.format("SKU-", sku), description, unitPrice, category, taxRate,
+                (int) (sku - ARTICLE_ID_START - 1));
+        if (!ArticleCatalog.getInstance().registerIfAbsent(article))
+            return Optional.empty();    // restored concurrently, prices of the first are kept
+        PricingIndex.getInstance().register(article);
+        return Optional.of(article);
+    }
+
 //    private interface IOrder<T,R> {
 //        Optional<R> appy(T spec);
 //    }
@@ -70,18 +138,36 @@ public class DataFactory {
 //        return Optional.of(order.apply(new Article()))
 //    }
 
+    /**
+     * Creates an OrderBuilder that builds orders from specifications of
+     * customers and articles, e.g. {@code builder.buildOrder("Eric", o -> o.item(4, "Teller"))}.
+     * Specifications are resolved by the resolvers through bounded LRU caches.
+     * 
+     * @param category the pricing category of built orders
+     * @param customerResolver resolves customer specifications, e.g.
+     *        {@code CustomerRegistry.getInstance()::find}
+     * @param articleResolver resolves article specifications, e.g.
+     *        {@code ArticleCatalog.getInstance()::find}
+     * @return the OrderBuilder
+     * @throws IllegalArgumentException with null resolvers
+     */
+    public OrderBuilder createOrderBuilder(PricingCategory category,
+            Function<String, Optional<Customer>> customerResolver,
+            Function<String, Optional<Article>> articleResolver) {
+        return new OrderBuilder(category, customerResolver, articleResolver);
+    }
+
     public Optional<OrderBuilder> createOrderBuilder(PricingCategory basepricing, Customer customer, Article... article) {
         if(customer == null){return Optional.empty();}
 
-        var ob =  Optional.of(new OrderBuilder()
+        var ob = new OrderBuilder()
             .withCustomer(customer)
-            .withCategory(basepricing)
-        );
+            .withCategory(basepricing);
 
         for (var i:article) {
-            ob.get().addItem(i);
-        };
-        return ob;
+            ob.addItem(i);
+        }
+        return Optional.of(ob);
     }
 
     /**
@@ -0,0 +1,129 @@
+package datamodel;
+
+/**
+ * Hash map with primitive {@code long} keys and non-negative {@code int}
+ * values using open addressing with linear probing. Keys and values are
+ * held in two arrays, no objects are allocated per entry.
+ * <p>
+ * Class is not thread-safe, readers are guarded by the owning index.
+ */
+final class LongIntMap {
+
+    /**
+     * Value returned for absent keys.
+     */
+    static final int ABSENT = -1;
+
+    /**
+     * Keys of slots, {@code 0L} marks a free slot.
+     */
+    private long[] keys;
+
+    /**
+     * Values of slots.
+     */
+    private int[] values;
+
+    /**
+     * Value of key {@code 0L}, which cannot be stored in a slot.
+     */
+    private int zeroValue = ABSENT;
+
+    /**
+     * Number of keys stored in slots.
+     */
+    private int size;
+
+    /**
+     * Create map with an initial capacity (rounded up to a power of 2).
+     * @param capacity expected number of keys
+     */
+    LongIntMap(int capacity) {
+        final int slots = Integer.highestOneBit(Math.max(8, capacity * 2 - 1)) << 1;
+        this.keys = new long[slots];
+        this.values = new int[slots];
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key key to look up
+     * @return value of key or {@link #ABSENT}
+     */
+    int get(long key) {
+        if (key == 0L)
+            return zeroValue;
+        final long[] k = keys;
+        final int mask = k.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            if (k[i] == key)
+                return values[i];
+            if (k[i] == 0L)
+                return ABSENT;
+        }
+    }
+
+    /**
+     * Associates a value with a key, replacing a previous value.
+     * @param key key to store
+     * @param value non-negative value
+     * @throws IllegalArgumentException with negative value
+     */
+    void put(long key, int value) {
+        if (value < 0)
+            throw new IllegalArgumentException("argument value: " + value + ", must not be negative");
+        if (key == 0L) {
+            zeroValue = value;
+            return;
+        }
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        final int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != 0L && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == 0L) {
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     * @return number of keys
+     */
+    int size() {
+        return size + (zeroValue != ABSENT ? 1 : 0);
+    }
+
+    /**
+     * Double the number of slots and re-insert all keys.
+     */
+    private void grow() {
+        final long[] k = keys;
+        final int[] v = values;
+        keys = new long[k.length * 2];
+        values = new int[k.length * 2];
+        final int mask = keys.length - 1;
+        for (int j = 0; j < k.length; j++) {
+            if (k[j] != 0L) {
+                int i = slot(k[j], mask);
+                while (keys[i] != 0L) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k[j];
+                values[i] = v[j];
+            }
+        }
+    }
+
+    /**
+     * Home slot of a key, bits are mixed such that sequential keys spread.
+     */
+    private static int slot(long key, int mask) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,171 @@
+package datamodel;
+
+/**
+ * Index-based parser of customer names into first and last name without
+ * splitting strings. Names are scanned once, the result are offsets of
+ * first and last name into the name packed into a {@code long}, such that
+ * parsing allocates no objects:
+ * <pre>
+ * "Meyer, Eric"                    -&gt; last: "Meyer",          first: "Eric"
+ * "Eric Meyer"                     -&gt; last: "Meyer",          first: "Eric"
+ * "Khaled Saad Mohamed Abdelalim"  -&gt; last: "Abdelalim",      first: "Khaled Saad Mohamed"
+ * "Ludwig van Beethoven"           -&gt; last: "van Beethoven",  first: "Ludwig"
+ * "Hans von der Heide"             -&gt; last: "von der Heide",  first: "Hans"
+ * "Eric"                           -&gt; last: "",               first: "Eric"
+ * </pre>
+ * Rules: with a comma, the part before is the last name and the part after
+ * the first name. Without comma, the last word is the last name together
+ * with preceding particles ("von", "van", "de", ...), all words before are
+ * first names. The first word is always part of the first name. Blanks
+ * around names are not included.
+ */
+public final class NameParser {
+
+    /**
+     * Maximum length of names, offsets are packed into 16 bits.
+     */
+    public static final int MAX_LENGTH = 0xFFFF;
+
+    /**
+     * Particles of last names, compared ignoring case.
+     */
+    private static final String[] PARTICLES = {
+            "von", "vom", "van", "der", "den", "de", "del", "della", "di", "da", "du", "le", "la",
+            "zu", "zum", "zur", "ten", "ter", "bin", "ibn", "al", "el", "dos", "das"
+    };
+
+    /**
+     * Private constructor of static utility class.
+     */
+    private NameParser() {
+    }
+
+    /**
+     * Parse name into offsets of first and last name.
+     * @param name name to parse
+     * @return packed offsets, use {@link #firstName(String, long)},
+     *         {@link #lastName(String, long)} or the offset accessors
+     * @throws IllegalArgumentException with null name or names longer than
+     *         {@link #MAX_LENGTH}
+     */
+    public static long parse(String name) {
+        if (name == null)
+            throw new IllegalArgumentException("argument name: null");
+        if (name.length() > MAX_LENGTH)
+            throw new IllegalArgumentException("name longer than " + MAX_LENGTH);
+        final int start = skipBlanks(name, 0);
+        final int end = trimEnd(name, start, name.length());
+        // "Last, First"
+        for (int i = start; i < end; i++) {
+            if (name.charAt(i) == ',') {
+                final int firstStart = Math.min(skipBlanks(name, i + 1), end);
+                return pack(firstStart, trimEnd(name, firstStart, end), start, trimEnd(name, start, i));
+            }
+        }
+        // "First Middle Last": last word with preceding particles
+        int lastStart = wordStart(name, start, end);
+        if (lastStart == start) // single word is first name
+            return pack(start, end, end, end);
+        while (true) {
+            final int wordEnd = trimEnd(name, start, lastStart);
+            final int wordStart = wordStart(name, start, wordEnd);
+            if (wordStart == start || !isParticle(name, wordStart, wordEnd))
+                break;
+            lastStart = wordStart;
+        }
+        return pack(start, trimEnd(name, start, lastStart), lastStart, end);
+    }
+
+    /**
+     * Returns the first name of a name parsed into offsets.
+     * @param name parsed name
+     * @param offsets offsets returned by {@link #parse(String)}
+     * @return first name
+     */
+    public static String firstName(String name, long offsets) {
+        return name.substring(firstStart(offsets), firstEnd(offsets));
+    }
+
+    /**
+     * Returns the last name of a name parsed into offsets.
+     * @param name parsed name
+     * @param offsets offsets returned by {@link #parse(String)}
+     * @return last name
+     */
+    public static String lastName(String name, long offsets) {
+        return name.substring(lastStart(offsets), lastEnd(offsets));
+    }
+
+    /**
+     * Returns the start of the first name.
+     * @param offsets offsets returned by {@link #parse(String)}
+     * @return index of first character of first name
+     */
+    public static int firstStart(long offsets) {
+        return (int) (offsets >>> 48);
+    }
+
+    /**
+     * Returns the end of the first name.
+     * @param offsets offsets returned by {@link #parse(String)}
+     * @return index after last character of first name
+     */
+    public static int firstEnd(long offsets) {
+        return (int) (offsets >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Returns the start of the last name.
+     * @param offsets offsets returned by {@link #parse(String)}
+     * @return index of first character of last name
+     */
+    public static int lastStart(long offsets) {
+        return (int) (offsets >>> 16) & 0xFFFF;
+    }
+
+    /**
+     * Returns the end of the last name.
+     * @param offsets offsets returned by {@link #parse(String)}
+     * @return index after last character of last name
+     */
+    public static int lastEnd(long offsets) {
+        return (int) offsets & 0xFFFF;
+    }
+
+    private static long pack(int firstStart, int firstEnd, int lastStart, int lastEnd) {
+        return ((long) firstStart << 48) | ((long) firstEnd << 32) | ((long) lastStart << 16) | lastEnd;
+    }
+
+    /**
+     * Start of the word that ends at {@code end}.
+     */
+    private static int wordStart(String s, int start, int end) {
+        int i = end;
+        while (i > start && !Character.isWhitespace(s.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int skipBlanks(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimEnd(String s, int start, int end) {
+        while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isParticle(String s, int start, int end) {
+        for (String particle : PARTICLES) {
+            if (particle.length() == end - start && s.regionMatches(true, start, particle, 0, particle.length()))
+                return true;
+        }
+        return false;
+    }
+}
@@ -1,7 +1,11 @@
 package datamodel;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Handles pricing-related functionality including tax rates and currency information.
@@ -21,6 +25,12 @@ public class Pricing {
      */
     private final Currency currency;
 
+    /**
+     * Conversion rates used by all pricing models, replaced atomically by
+     * {@link #setConversionRates(ConversionRates)} without blocking readers.
+     */
+    private static volatile ConversionRates conversionRates = ConversionRates.defaults();
+
     /**
      * Countries supported by the pricing models.
      */
@@ -102,6 +112,128 @@ public class Pricing {
         Excempt
     }
 
+    /**
+     * Immutable table of conversion rates between countries held in a
+     * primitive {@link Country} x {@link Country} matrix indexed by enum
+     * ordinals. Rates that are not available are {@code NaN}.
+     * <p>
+     * Rates can be loaded from a text file with one rate per line given by
+     * the source and target country codes and the factor, e.g.:
+     * <pre>
+     * # from  to  factor
+     * DE      UK  0.85
+     * DE      CH  1.15
+     * </pre>
+     */
+    public static final class ConversionRates {
+
+        /**
+         * Number of countries, rows and columns of the matrix.
+         */
+        private static final int N = Country.values().length;
+
+        /**
+         * Rates matrix, row-major: {@code rates[from * N + to]}.
+         */
+        private final double[] rates;
+
+        private ConversionRates(double[] rates) {
+            this.rates = rates;
+        }
+
+        /**
+         * Returns default conversion rates, conversion within a country is 1.0.
+         * @return default conversion rates
+         */
+        public static ConversionRates defaults() {
+            return empty()
+                .with(Country.Germany, Country.UnitedKingdom, 0.85)
+                .with(Country.Germany, Country.Switzerland, 1.15);
+        }
+
+        /**
+         * Loads conversion rates from a file, see class description for the
+         * file format. Rates not in the file are not available, except for
+         * conversion within a country.
+         * @param file file to load rates from
+         * @return loaded conversion rates
+         * @throws IOException when reading the file fails
+         * @throws IllegalArgumentException with malformed lines
+         */
+        public static ConversionRates load(Path file) throws IOException {
+            ConversionRates loaded = empty();
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                int lineNo = 0;
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    lineNo++;
+                    line = line.strip();
+                    if (line.isEmpty() || line.startsWith("#"))
+                        continue;
+                    String[] parts = line.split("\\s+");
+                    try {
+                        if (parts.length != 3)
+                            throw new IllegalArgumentException("expected: from to factor");
+                        loaded = loaded.with(country(parts[0]), country(parts[1]), Double.parseDouble(parts[2]));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException(file + ":" + lineNo + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+            return loaded;
+        }
+
+        /**
+         * Returns copy of this table with one rate set.
+         * @param from source country
+         * @param to target country
+         * @param factor conversion factor, must be positive
+         * @return new conversion rates with rate set
+         * @throws IllegalArgumentException with null countries or factor not positive
+         */
+        public ConversionRates with(Country from, Country to, double factor) {
+            if (from == null || to == null)
+                throw new IllegalArgumentException("argument country: null");
+            if (!(factor > 0.0))
+                throw new IllegalArgumentException("invalid conversion factor: " + factor);
+            double[] copy = rates.clone();
+            copy[from.ordinal() * N + to.ordinal()] = factor;
+            return new ConversionRates(copy);
+        }
+
+        /**
+         * Returns conversion factor between two countries.
+         * @param from source country
+         * @param to target country
+         * @return conversion factor or {@code NaN} if not available
+         */
+        public double rate(Country from, Country to) {
+            return rates[from.ordinal() * N + to.ordinal()];
+        }
+
+        /**
+         * Table with rates only for conversions within a country.
+         */
+        private static ConversionRates empty() {
+            double[] rates = new double[N * N];
+            Arrays.fill(rates, Double.NaN);
+            for (int i = 0; i < N; i++) {
+                rates[i * N + i] = 1.0;
+            }
+            return new ConversionRates(rates);
+        }
+
+        /**
+         * Country by its code, e.g. "DE".
+         */
+        private static Country country(String code) {
+            for (Country country : Country.values()) {
+                if (country.code().equals(code))
+                    return country;
+            }
+            throw new IllegalArgumentException("unknown country code: \"" + code + "\"");
+        }
+    }
+
     /**
      * Creates a new Pricing instance for the specified country and currency.
      * @param country country for this pricing model
@@ -127,32 +259,65 @@ public class Pricing {
      * @param targetCountry the country to convert the price to
      * @param price the price to convert
      * @return the converted price
+     * @throws UnsupportedOperationException when no conversion rate is available
      */
     public long convertPriceToCountry(Country targetCountry, long price) {
-        // Assuming there's a predefined conversion rate map
-        Map<Country, Map<Country, Double>> conversionRates = getConversionRates();
-        if (!conversionRates.containsKey(country) || !conversionRates.get(country).containsKey(targetCountry)) {
-            throw new UnsupportedOperationException("Conversion rate not available for " + country + " to " + targetCountry);
+        return adjustPrice(price, conversionFactor(targetCountry));
+    }
+
+    /**
+     * Converts prices from the current country to the specified target country.
+     * @param targetCountry the country to convert the prices to
+     * @param prices the prices to convert
+     * @param converted array receiving converted prices, same length as prices
+     * @return array with converted prices
+     * @throws UnsupportedOperationException when no conversion rate is available
+     * @throws IllegalArgumentException when arrays differ in length
+     */
+    public long[] convertPricesToCountry(Country targetCountry, long[] prices, long[] converted) {
+        if (prices.length != converted.length)
+            throw new IllegalArgumentException("arrays differ in length: " + prices.length + ", " + converted.length);
+        final double factor = conversionFactor(targetCountry);
+        for (int i = 0; i < prices.length; i++) {
+            converted[i] = adjustPrice(prices[i], factor);
         }
-        double conversionFactor = conversionRates.get(country).get(targetCountry);
-        return adjustPrice(price, conversionFactor);
+        return converted;
     }
 
     /**
-     * Returns a map of conversion rates between countries.
-     * This is a placeholder for actual conversion rate logic.
-     * @return a map of conversion rates
+     * Returns the conversion rates currently in use.
+     * @return current conversion rates
      */
-    private Map<Country, Map<Country, Double>> getConversionRates() {
-  
-        Map<Country, Map<Country, Double>> conversionRates = new HashMap<>();
-        conversionRates.put(Country.Germany, new HashMap<>());
-        conversionRates.get(Country.Germany).put(Country.UnitedKingdom, 0.85);
-        conversionRates.get(Country.Germany).put(Country.Switzerland, 1.15);
-        // Add more conversion rates as needed
+    public static ConversionRates conversionRates() {
         return conversionRates;
     }
 
+    /**
+     * Replaces conversion rates atomically, conversions in progress complete
+     * with the previous rates.
+     * @param rates new conversion rates
+     * @throws IllegalArgumentException with null argument
+     */
+    public static void setConversionRates(ConversionRates rates) {
+        if (rates == null)
+            throw new IllegalArgumentException("argument rates: null");
+        conversionRates = rates;
+    }
+
+    /**
+     * Returns the conversion factor from the current country to a target country.
+     * @param targetCountry the country to convert to
+     * @return conversion factor
+     * @throws UnsupportedOperationException when no conversion rate is available
+     */
+    private double conversionFactor(Country targetCountry) {
+        double factor = targetCountry == null ? Double.NaN : conversionRates.rate(country, targetCountry);
+        if (Double.isNaN(factor)) {
+            throw new UnsupportedOperationException("Conversion rate not available for " + country + " to " + targetCountry);
+        }
+        return factor;
+    }
+
     /**
      * Returns the tax rate as a percentage for the given article.
      * <pre>
@@ -164,23 +329,40 @@ public class Pricing {
      * @return tax rate as percent value that applies to article
      */
     public double taxRateAsPercent(Article article) {
-        if (article == null) return 0.0;
-        TAXRate rate = taxRate(article);
-        
+        return taxRateBasisPoints(article) / 100.0;
+    }
+
+    /**
+     * Returns the tax rate in basis points (1/100 percent) for the given
+     * article, e.g. 1900 for 19%, 810 for 8.1%.
+     * @param article subject of tax rate request
+     * @return tax rate in basis points that applies to article, 0 for null
+     */
+    public int taxRateBasisPoints(Article article) {
+        if (article == null) return 0;
+        return taxRateBasisPoints(taxRate(article));
+    }
+
+    /**
+     * Returns the tax rate in basis points (1/100 percent) for a tax rate
+     * category in the country of this pricing model.
+     * @param rate tax rate category
+     * @return tax rate in basis points
+     */
+    public int taxRateBasisPoints(TAXRate rate) {
         switch (country) {
             case Germany:
-                return rate == TAXRate.Regular ? 19.0 : 
-                       rate == TAXRate.Reduced ? 7.0 : 0.0;
+                return rate == TAXRate.Regular ? 1900 : 
+                       rate == TAXRate.Reduced ? 700 : 0;
             case Switzerland:
-                return rate == TAXRate.Regular ? 8.1 : 
-                       rate == TAXRate.Reduced ? 2.6 : 
-                       rate == TAXRate.Special ? 3.8 : 0.0;
+                return rate == TAXRate.Regular ? 810 : 
+                       rate == TAXRate.Reduced ? 260 : 
+                       rate == TAXRate.Special ? 380 : 0;
             case UnitedKingdom:
-                return rate == TAXRate.Regular ? 20.0 : 
-                       rate == TAXRate.Reduced ? 5.0 : 
-                       rate == TAXRate.Excempt ? 0.0 : 0.0;
+                return rate == TAXRate.Regular ? 2000 : 
+                       rate == TAXRate.Reduced ? 500 : 0;
             default:
-                return 0.0;
+                return 0;
         }
     }
 
@@ -0,0 +1,152 @@
+package datamodel;
+
+import java.util.Arrays;
+
+import datamodel.Pricing.PricingCategory;
+
+/**
+ * Precomputed unit prices, VAT rates (in basis points) and VAT included in
+ * unit prices of articles for each {@link PricingCategory}. Values are held
+ * in dense primitive arrays indexed by {@link Article#getIndex()} such that
+ * price lookups are array reads. Implements the Singleton pattern.
+ * <p>
+ * Articles are registered by {@link DataFactory#createArticle} and the index
+ * grows incrementally. Readers never block, they see a consistent snapshot
+ * of all articles registered before. Articles that are not registered
+ * (e.g. created for tests) are priced through their {@link Pricing}.
+ */
+public final class PricingIndex {
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+
+    private static final PricingIndex instance = new PricingIndex();
+
+    /**
+     * Published state of the index, replaced after each registration.
+     */
+    private volatile Snapshot snapshot = new Snapshot(new Table[categories.length], 0);
+
+    /**
+     * Immutable view of the index: arrays of all categories and the number of
+     * registered articles. Arrays are shared with later snapshots, entries
+     * below {@code size} do not change.
+     */
+    private record Snapshot(Table[] tables, int size) { }
+
+    /**
+     * Prices of one {@link PricingCategory}.
+     */
+    private record Table(long[] unitPrice, int[] vatBasisPoints, long[] includedVAT) {
+        Table(int capacity) {
+            this(new long[capacity], new int[capacity], new long[capacity]);
+        }
+
+        Table grow(int capacity) {
+            return new Table(Arrays.copyOf(unitPrice, capacity),
+                    Arrays.copyOf(vatBasisPoints, capacity), Arrays.copyOf(includedVAT, capacity));
+        }
+    }
+
+    private PricingIndex() {
+        Arrays.setAll(snapshot.tables(), i -> new Table(64));
+    }
+
+    /**
+     * Returns the singleton instance of the PricingIndex.
+     * @return the singleton instance
+     */
+    public static PricingIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers article such that prices of all pricing categories are
+     * precomputed, articles can be registered in any order of indexes.
+     * @param article article to register
+     * @throws IllegalArgumentException with null article or without index
+     */
+    synchronized void register(Article article) {
+        if (article == null || article.getIndex() < 0)
+            throw new IllegalArgumentException("article not indexed");
+        final int i = article.getIndex();
+        final Snapshot current = snapshot;
+        Table[] tables = current.tables();
+        if (i >= tables[0].unitPrice().length) {
+            final int capacity = Math.max(i + 1, tables[0].unitPrice().length * 2);
+            tables = Arrays.stream(tables).map(t -> t.grow(capacity)).toArray(Table[]::new);
+        }
+        for (PricingCategory category : categories) {
+            final Table table = tables[category.ordinal()];
+            final Pricing pricing = category.pricing();
+            final long unitPrice = pricing.unitPrice(article);
+            final int vatBasisPoints = pricing.taxRateBasisPoints(article);
+            table.unitPrice()[i] = unitPrice;
+            table.vatBasisPoints()[i] = vatBasisPoints;
+            table.includedVAT()[i] = VATCalculator.includedVAT(unitPrice, vatBasisPoints);
+        }
+        snapshot = new Snapshot(tables, Math.max(current.size(), i + 1));
+    }
+
+    /**
+     * Returns the unit price of an article in a pricing category.
+     * @param category pricing category
+     * @param article article to get the price for
+     * @return unit price of the article
+     */
+    public long unitPrice(PricingCategory category, Article article) {
+        final Snapshot s = snapshot;
+        return indexed(s, category, article) ? s.tables()[category.ordinal()].unitPrice()[article.getIndex()]
+                : pricing(category, article).unitPrice(article);
+    }
+
+    /**
+     * Returns the VAT rate of an article in a pricing category in basis
+     * points, e.g. 1900 for 19%.
+     * @param category pricing category
+     * @param article article to get the VAT rate for
+     * @return VAT rate in basis points
+     */
+    public int vatBasisPoints(PricingCategory category, Article article) {
+        final Snapshot s = snapshot;
+        return indexed(s, category, article) ? s.tables()[category.ordinal()].vatBasisPoints()[article.getIndex()]
+                : pricing(category, article).taxRateBasisPoints(article);
+    }
+
+    /**
+     * Returns the VAT included in the unit price of an article in a pricing
+     * category.
+     * @param category pricing category
+     * @param article article to get the included VAT for
+     * @return VAT included in unit price
+     */
+    public long includedVAT(PricingCategory category, Article article) {
+        final Snapshot s = snapshot;
+        if (indexed(s, category, article))
+            return s.tables()[category.ordinal()].includedVAT()[article.getIndex()];
+        final Pricing pricing = pricing(category, article);
+        return VATCalculator.includedVAT(pricing.unitPrice(article), pricing.taxRateBasisPoints(article));
+    }
+
+    /**
+     * Returns the number of registered articles.
+     * @return number of registered articles
+     */
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Test whether article is registered in snapshot.
+     */
+    private static boolean indexed(Snapshot s, PricingCategory category, Article article) {
+        final int i = article.getIndex();
+        return category != null && i >= 0 && i < s.size();
+    }
+
+    /**
+     * Pricing of category, falls back to the article's own category.
+     */
+    private static Pricing pricing(PricingCategory category, Article article) {
+        return (category != null ? category : article.getCategory()).pricing();
+    }
+}
@@ -0,0 +1,164 @@
+package datamodel;
+
+/**
+ * Calculation of VAT (<i>"Mehrwertsteuer" (MwSt.)</i>) included in gross
+ * values in {@code long} cents with tax rates in integer basis points
+ * (1/100 percent, e.g. 1900 for 19%, 810 for 8.1%). Calculations are exact,
+ * no floating point arithmetic is used, and rounding is explicit:
+ * <pre>
+ * 19% of 104.71 gross: 16.7181 -&gt; HalfUp: 16.72, Down: 16.71
+ * 19% of  99.92 gross: 15.9536 -&gt; HalfUp: 15.95
+ * </pre>
+ * Bulk methods compute VAT for arrays of line items in plain counted loops.
+ */
+public final class VATCalculator {
+
+    /**
+     * Basis points of 100%.
+     */
+    private static final int BASIS = 10_000;
+
+    /**
+     * Rounding modes for fractions of a cent.
+     * <pre>
+     * HalfUp   - commercial rounding, ...5 rounds up (default)
+     * HalfEven - banker's rounding, ...5 rounds to even cent
+     * Down     - fractions are cut
+     * </pre>
+     */
+    public enum Rounding {
+        /** Commercial rounding, half cents round up. */
+        HalfUp,
+        /** Banker's rounding, half cents round to even cent. */
+        HalfEven,
+        /** Fractions of cents are cut. */
+        Down
+    }
+
+    /**
+     * Private constructor of static utility class.
+     */
+    private VATCalculator() {
+    }
+
+    /**
+     * Calculate VAT included in a gross value with commercial rounding.
+     * @param grossValue value that includes the tax in cent
+     * @param rateBasisPoints tax rate in basis points, e.g. 1900 for 19%
+     * @return tax included in gross value or 0L if {@code grossValue <= 0L}
+     * @throws IllegalArgumentException with negative tax rate
+     */
+    public static long includedVAT(long grossValue, int rateBasisPoints) {
+        return includedVAT(grossValue, rateBasisPoints, Rounding.HalfUp);
+    }
+
+    /**
+     * Calculate VAT included in a gross value:
+     * {@code grossValue * rate / (100% + rate)}, rounded by a rounding mode.
+     * @param grossValue value that includes the tax in cent
+     * @param rateBasisPoints tax rate in basis points, e.g. 1900 for 19%
+     * @param rounding rounding mode for fractions of a cent
+     * @return tax included in gross value or 0L if {@code grossValue <= 0L}
+     * @throws IllegalArgumentException with negative tax rate or null rounding
+     */
+    public static long includedVAT(long grossValue, int rateBasisPoints, Rounding rounding) {
+        if (rateBasisPoints < 0)
+            throw new IllegalArgumentException("argument rateBasisPoints: " + rateBasisPoints + ", must not be negative");
+        if (rounding == null)
+            throw new IllegalArgumentException("argument rounding: null");
+        if (grossValue <= 0L)
+            return 0L;
+        final long divisor = BASIS + rateBasisPoints;
+        switch (rounding) {
+            case HalfUp:
+                return vatHalfUp(grossValue, rateBasisPoints, divisor);
+            case HalfEven:
+                return vatHalfEven(grossValue, rateBasisPoints, divisor);
+            default:
+                return vatDown(grossValue, rateBasisPoints, divisor);
+        }
+    }
+
+    /**
+     * Calculate VAT included in gross values of line items with commercial
+     * rounding.
+     * @param grossValues values that include the tax in cent
+     * @param ratesBasisPoints tax rates in basis points for each value
+     * @param vat array receiving included VAT for each value
+     * @return array with included VAT
+     * @throws IllegalArgumentException when arrays differ in length or with
+     *         negative tax rates
+     */
+    public static long[] includedVAT(long[] grossValues, int[] ratesBasisPoints, long[] vat) {
+        return includedVAT(grossValues, ratesBasisPoints, vat, Rounding.HalfUp);
+    }
+
+    /**
+     * Calculate VAT included in gross values of line items rounded by a
+     * rounding mode. Values {@code <= 0L} result in 0L.
+     * @param grossValues values that include the tax in cent
+     * @param ratesBasisPoints tax rates in basis points for each value
+     * @param vat array receiving included VAT for each value
+     * @param rounding rounding mode for fractions of a cent
+     * @return array with included VAT
+     * @throws IllegalArgumentException when arrays differ in length, with
+     *         negative tax rates or null rounding
+     */
+    public static long[] includedVAT(long[] grossValues, int[] ratesBasisPoints, long[] vat, Rounding rounding) {
+        final int n = grossValues.length;
+        if (ratesBasisPoints.length != n || vat.length != n)
+            throw new IllegalArgumentException("arrays differ in length");
+        if (rounding == null)
+            throw new IllegalArgumentException("argument rounding: null");
+        int minRate = 0;
+        for (int i = 0; i < n; i++) {
+            minRate = Math.min(minRate, ratesBasisPoints[i]);
+        }
+        if (minRate < 0)
+            throw new IllegalArgumentException("negative tax rate: " + minRate);
+        // one loop per rounding mode, no branches on the mode inside loops
+        switch (rounding) {
+            case HalfUp:
+                for (int i = 0; i < n; i++) {
+                    final long g = Math.max(0L, grossValues[i]);
+                    vat[i] = vatHalfUp(g, ratesBasisPoints[i], BASIS + ratesBasisPoints[i]);
+                }
+                break;
+            case HalfEven:
+                for (int i = 0; i < n; i++) {
+                    final long g = Math.max(0L, grossValues[i]);
+                    vat[i] = vatHalfEven(g, ratesBasisPoints[i], BASIS + ratesBasisPoints[i]);
+                }
+                break;
+            default:
+                for (int i = 0; i < n; i++) {
+                    final long g = Math.max(0L, grossValues[i]);
+                    vat[i] = vatDown(g, ratesBasisPoints[i], BASIS + ratesBasisPoints[i]);
+                }
+        }
+        return vat;
+    }
+
+    /*
+     * The gross value is split into q * divisor + r such that q * rate never
+     * overflows and r * rate < divisor * rate fits into a long:
+     * gross * rate / divisor = q * rate + (r * rate) / divisor.
+     */
+
+    private static long vatDown(long gross, long rate, long divisor) {
+        return gross / divisor * rate + gross % divisor * rate / divisor;
+    }
+
+    private static long vatHalfUp(long gross, long rate, long divisor) {
+        final long n = gross % divisor * rate;
+        final long vat = gross / divisor * rate + n / divisor;
+        return 2 * (n % divisor) >= divisor ? vat + 1 : vat;
+    }
+
+    private static long vatHalfEven(long gross, long rate, long divisor) {
+        final long n = gross % divisor * rate;
+        final long vat = gross / divisor * rate + n / divisor;
+        final long twice = 2 * (n % divisor);
+        return twice > divisor || (twice == divisor && (vat & 1) == 1) ? vat + 1 : vat;
+    }
+}
@@ -0,0 +1,38 @@
+package datamodel.imports;
+
+import java.util.List;
+
+/**
+ * Result of an import with numbers of rows, rejected rows and throughput.
+ *
+ * @param rows     number of data rows read (without header, blank and
+ *                 comment lines)
+ * @param accepted number of rows objects were created from
+ * @param rejected number of rows that were rejected
+ * @param rejects  first rejected rows with line number and reason
+ * @param nanos    duration of the import in nanoseconds
+ */
+public record ImportReport(long rows, long accepted, long rejected, List<Reject> rejects, long nanos) {
+
+    /**
+     * Rejected row.
+     *
+     * @param line   line number in the file (starting at 1)
+     * @param reason reason the row was rejected
+     */
+    public record Reject(long line, String reason) { }
+
+    /**
+     * Returns the number of rows imported per second.
+     * @return rows per second
+     */
+    public double rowsPerSecond() {
+        return nanos > 0L ? rows * 1e9 / nanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows, %d accepted, %d rejected in %.3f s (%,.0f rows/s)",
+                rows, accepted, rejected, nanos / 1e9, rowsPerSecond());
+    }
+}
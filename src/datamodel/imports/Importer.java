@@ -0,0 +1,324 @@
+package datamodel.imports;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import datamodel.Article;
+import datamodel.ArticleCatalog;
+import datamodel.ContactValidator;
+import datamodel.Customer;
+import datamodel.CustomerRegistry;
+import datamodel.DataFactory;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+
+/**
+ * Streaming import of customers, articles and orders from CSV or JSON-lines
+ * files. Files are read through a {@link FileChannel} into a fixed buffer,
+ * lines are collected into batches that are parsed and turned into objects
+ * on worker threads. At most {@code 2 * parallelism} batches are in flight,
+ * such that memory use does not grow with the size of files.
+ * <pre>
+ * customers:  CSV:  name,contact,contact,...
+ *             JSON: {"name": "Eric Meyer", "contacts": ["eric98@yahoo.com"]}
+ * articles:   CSV:  description,unitPrice,category,taxRate
+ *             JSON: {"description": "Tasse", "unitPrice": 299,
+ *                    "category": "BasePricing", "taxRate": "Regular"}
+ * orders:     CSV:  customer,category,article,quantity,article,quantity,...
+ *             JSON: {"customer": "Meyer", "category": "BasePricing",
+ *                    "items": [{"article": "SKU-100004", "quantity": 4}]}
+ * </pre>
+ * The format is chosen by file name, {@code .jsonl} and {@code .ndjson}
+ * are JSON lines, all other files CSV with a header line. Blank lines and
+ * lines starting with {@code '#'} are skipped. Category and tax rate are
+ * optional (BasePricing, Regular).
+ * <p>
+ * Customers and articles are created through {@link DataFactory}, such that
+ * the same validation rules apply and created objects are registered.
+ * Orders reference customers and articles by ID or name as resolved by
+ * {@link CustomerRegistry#find(String)} and {@link ArticleCatalog#find(String)}.
+ * Rows that cannot be turned into objects are rejected and reported in the
+ * {@link ImportReport}. Objects are passed to a sink, which is called from
+ * worker threads and must be thread-safe.
+ */
+public final class Importer {
+
+    /**
+     * Size of the read buffer, lines longer than the buffer grow it.
+     */
+    private static final int BUFFER = 1 << 20;
+
+    /**
+     * Number of rejected rows recorded with line number and reason.
+     */
+    private static final int MAX_REJECTS = 100;
+
+    private static final String[] CUSTOMER_KEYS = { "name", "contacts" };
+    private static final String[] ARTICLE_KEYS = { "description", "unitPrice", "category", "taxRate" };
+    private static final String[] ORDER_KEYS = { "customer", "category", "items.article", "items.quantity" };
+
+    private final DataFactory dataFactory = DataFactory.getInstance();
+
+    /**
+     * Number of worker threads.
+     */
+    private final int parallelism;
+
+    /**
+     * Number of lines per batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Create importer.
+     * @param parallelism number of worker threads
+     * @param batchSize number of lines processed per batch
+     * @throws IllegalArgumentException with parallelism or batchSize less than 1
+     */
+    public Importer(int parallelism, int batchSize) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("argument parallelism: " + parallelism + ", must be at least 1");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("argument batchSize: " + batchSize + ", must be at least 1");
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import customers from a file.
+     * @param file CSV or JSON-lines file
+     * @param sink receives created customers
+     * @return import report
+     * @throws IOException when reading fails
+     * @throws IllegalArgumentException with null arguments
+     */
+    public ImportReport importCustomers(Path file, Consumer<? super Customer> sink) throws IOException {
+        return run(file, CUSTOMER_KEYS, this::customer, sink);
+    }
+
+    /**
+     * Import articles from a file.
+     * @param file CSV or JSON-lines file
+     * @param sink receives created articles
+     * @return import report
+     * @throws IOException when reading fails
+     * @throws IllegalArgumentException with null arguments
+     */
+    public ImportReport importArticles(Path file, Consumer<? super Article> sink) throws IOException {
+        return run(file, ARTICLE_KEYS, this::article, sink);
+    }
+
+    /**
+     * Import orders from a file, customers and articles must exist.
+     * @param file CSV or JSON-lines file
+     * @param sink receives built orders
+     * @return import report
+     * @throws IOException when reading fails
+     * @throws IllegalArgumentException with null arguments
+     */
+    public ImportReport importOrders(Path file, Consumer<? super Order> sink) throws IOException {
+        return run(file, ORDER_KEYS, this::order, sink);
+    }
+
+    /*
+     * Mapping of row fields to objects, rows are rejected by throwing
+     * IllegalArgumentException with the reason.
+     */
+
+    private Customer customer(List<String> fields) {
+        for (int i = 2; i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty() && !ContactValidator.isValid(fields.get(i)))
+                throw new IllegalArgumentException("invalid contact: " + fields.get(i));
+        }
+        // empty contact field is no contact, e.g. "Eric Meyer," or {"name": "Eric Meyer"}
+        final String contact = fields.size() > 1 && !fields.get(1).isEmpty() ? fields.get(1) : null;
+        final Customer customer = dataFactory.createCustomer(fields.get(0), contact)
+                .orElseThrow(() -> new IllegalArgumentException("invalid customer: " + fields.get(0)));
+        for (int i = 2; i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty()) {
+                customer.addContact(fields.get(i));
+            }
+        }
+        return customer;
+    }
+
+    private Article article(List<String> fields) {
+        if (fields.size() < 2)
+            throw new IllegalArgumentException("description and unit price expected");
+        final long unitPrice = Long.parseLong(fields.get(1));
+        final PricingCategory category = fields.size() > 2 && !fields.get(2).isEmpty()
+                ? PricingCategory.valueOf(fields.get(2)) : PricingCategory.BasePricing;
+        final TAXRate taxRate = fields.size() > 3 && !fields.get(3).isEmpty()
+                ? TAXRate.valueOf(fields.get(3)) : TAXRate.Regular;
+        return dataFactory.createArticle(fields.get(0), unitPrice, category, taxRate)
+                .orElseThrow(() -> new IllegalArgumentException("invalid article: " + fields.get(0)));
+    }
+
+    private Order order(List<String> fields) {
+        if (fields.size() < 4 || fields.size() % 2 != 0)
+            throw new IllegalArgumentException("customer, category and article, quantity pairs expected");
+        final Customer customer = CustomerRegistry.getInstance().find(fields.get(0))
+                .orElseThrow(() -> new IllegalArgumentException("unknown customer: " + fields.get(0)));
+        final OrderBuilder builder = new OrderBuilder().withCustomer(customer)
+                .withCategory(fields.get(1).isEmpty() ? PricingCategory.BasePricing : PricingCategory.valueOf(fields.get(1)));
+        for (int i = 2; i < fields.size(); i += 2) {
+            final String spec = fields.get(i);
+            if (spec.isEmpty())
+                throw new IllegalArgumentException("article missing");
+            final Article article = ArticleCatalog.getInstance().find(spec)
+                    .orElseThrow(() -> new IllegalArgumentException("unknown article: " + spec));
+            final int quantity = Integer.parseInt(fields.get(i + 1));
+            if (quantity < 1)
+                throw new IllegalArgumentException("invalid quantity: " + quantity);
+            builder.addItem(article, quantity);
+        }
+        final Optional<Order> order = builder.build();
+        return order.orElseThrow(() -> new IllegalArgumentException("invalid order"));
+    }
+
+    /**
+     * Batch of lines with their line numbers.
+     */
+    private record Batch(String[] lines, long[] numbers, int size) { }
+
+    /**
+     * Read file in batches and process batches on worker threads.
+     */
+    private <T> ImportReport run(Path file, String[] keys, Function<List<String>, T> mapper,
+            Consumer<? super T> sink) throws IOException {
+        if (file == null || sink == null)
+            throw new IllegalArgumentException("arguments: null");
+        final String name = file.getFileName().toString();
+        final boolean json = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        final long start = System.nanoTime();
+        final LongAdder rows = new LongAdder(), accepted = new LongAdder(), rejected = new LongAdder();
+        final List<ImportReport.Reject> rejects = new ArrayList<>();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final Semaphore inFlight = new Semaphore(2 * parallelism);
+        final ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        //
+        final Consumer<Batch> process = batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    final List<String> fields = json ? RowParser.json(batch.lines()[i], keys)
+                            : RowParser.csv(batch.lines()[i]);
+                    sink.accept(mapper.apply(fields));
+                    accepted.increment();
+                } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                    rejected.increment();
+                    synchronized (rejects) {
+                        if (rejects.size() < MAX_REJECTS) {
+                            rejects.add(new ImportReport.Reject(batch.numbers()[i], e.getMessage()));
+                        }
+                    }
+                }
+            }
+        };
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+            String[] lines = new String[batchSize];
+            long[] numbers = new long[batchSize];
+            int n = 0;
+            long lineNumber = 0L;
+            boolean header = !json;
+            boolean eof = false;
+            while (!eof && failure.get() == null) {
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+                final byte[] bytes = buffer.array();
+                int from = buffer.position();
+                final int limit = buffer.limit();
+                for (int i = from; i <= limit; i++) {
+                    if (i == limit && !(eof && from < limit))
+                        break; // incomplete last line, wait for more bytes
+                    if (i < limit && bytes[i] != '\n')
+                        continue;
+                    // line [from, i) without '\r'
+                    final int end = i > from && bytes[i - 1] == '\r' ? i - 1 : i;
+                    final String line = new String(bytes, from, end - from, StandardCharsets.UTF_8);
+                    from = i + 1;
+                    lineNumber++;
+                    if (line.isBlank() || line.charAt(0) == '#')
+                        continue;
+                    if (header) {
+                        header = false;
+                        continue;
+                    }
+                    rows.increment();
+                    lines[n] = line;
+                    numbers[n++] = lineNumber;
+                    if (n == batchSize) {
+                        submit(workers, inFlight, failure, process, new Batch(lines, numbers, n));
+                        lines = new String[batchSize];
+                        numbers = new long[batchSize];
+                        n = 0;
+                    }
+                }
+                buffer.position(Math.min(from, limit)).compact();
+                if (!buffer.hasRemaining()) { // line longer than buffer
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                }
+            }
+            if (n > 0) {
+                submit(workers, inFlight, failure, process, new Batch(lines, numbers, n));
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // wait for batches in flight
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure.get() != null)
+            throw failure.get();
+        final List<ImportReport.Reject> sorted = new ArrayList<>(rejects);
+        sorted.sort((a, b) -> Long.compare(a.line(), b.line()));
+        return new ImportReport(rows.sum(), accepted.sum(), rejected.sum(), List.copyOf(sorted),
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Submit batch when a slot is free, failures of the sink are recorded
+     * and stop reading.
+     */
+    private static void submit(ExecutorService workers, Semaphore inFlight, AtomicReference<RuntimeException> failure,
+            Consumer<Batch> process, Batch batch) throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("import interrupted");
+        }
+        workers.execute(() -> {
+            try {
+                process.accept(batch);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+}
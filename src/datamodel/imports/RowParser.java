@@ -0,0 +1,277 @@
+package datamodel.imports;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass parsers of CSV and JSON-lines rows into lists of fields.
+ * <p>
+ * CSV fields are separated by commas, fields containing commas or quotes
+ * are quoted with {@code "}, quotes in quoted fields are doubled.
+ * <p>
+ * JSON lines are flat objects with string and number values or arrays of
+ * them, e.g. {@code {"name": "Eric Meyer", "contacts": ["eric98@yahoo.com"]}}.
+ * Values are returned in the order of the requested keys, elements of an
+ * array are expanded in place, missing keys are empty fields. Arrays of
+ * objects, e.g. order items {@code [{"article": "Tasse", "quantity": 4}]},
+ * are expanded into the values of their keys per object, keys missing in
+ * an object are empty fields of that object.
+ */
+final class RowParser {
+
+    private RowParser() {
+    }
+
+    /**
+     * Split a CSV row into fields.
+     * @param line CSV row
+     * @return fields of row
+     * @throws IllegalArgumentException with an unterminated quoted field
+     */
+    static List<String> csv(String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        int i = 0;
+        final int n = line.length();
+        while (true) {
+            field.setLength(0);
+            if (i < n && line.charAt(i) == '"') { // quoted field
+                i++;
+                while (true) {
+                    if (i >= n)
+                        throw new IllegalArgumentException("unterminated quoted field");
+                    final char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < n && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                while (i < n && line.charAt(i) != ',') {
+                    i++; // ignore characters after closing quote
+                }
+            } else {
+                final int start = i;
+                while (i < n && line.charAt(i) != ',') {
+                    i++;
+                }
+                field.append(line, start, i);
+            }
+            fields.add(field.toString().trim());
+            if (i >= n)
+                return fields;
+            i++; // skip ','
+        }
+    }
+
+    /**
+     * Extract values of keys from a JSON line.
+     * @param line JSON object in one line
+     * @param keys keys of values, nested keys of objects in arrays follow
+     *             the key of the array separated by '.', e.g. "items.article"
+     * @return values in order of keys
+     * @throws IllegalArgumentException with malformed JSON
+     */
+    static List<String> json(String line, String... keys) {
+        final Json json = new Json(line);
+        final List<List<String>> values = new ArrayList<>(keys.length);
+        for (int k = 0; k < keys.length; k++) {
+            values.add(new ArrayList<>(1));
+        }
+        json.object("", keys, values);
+        json.skipWhitespace();
+        if (json.pos < line.length())
+            throw new IllegalArgumentException("characters after JSON object");
+        final List<String> fields = new ArrayList<>();
+        // interleave values of nested keys of the same array, e.g. article, quantity, article, ...
+        for (int k = 0; k < keys.length; k++) {
+            final int dot = keys[k].indexOf('.');
+            if (dot < 0) {
+                fields.addAll(values.get(k).isEmpty() ? List.of("") : values.get(k));
+                continue;
+            }
+            final String array = keys[k].substring(0, dot + 1);
+            int last = k;
+            while (last + 1 < keys.length && keys[last + 1].startsWith(array)) {
+                last++;
+            }
+            final int rows = values.get(k).size();
+            for (int r = 0; r < rows; r++) {
+                for (int j = k; j <= last; j++) {
+                    fields.add(r < values.get(j).size() ? values.get(j).get(r) : "");
+                }
+            }
+            k = last;
+        }
+        return fields;
+    }
+
+    /**
+     * Minimal JSON scanner over one line.
+     */
+    private static final class Json {
+        private final String s;
+        private int pos;
+
+        Json(String s) {
+            this.s = s;
+        }
+
+        void object(String prefix, String[] keys, List<List<String>> values) {
+            expect('{');
+            final int rows = prefix.isEmpty() ? 0 : rows(prefix, keys, values);
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                pad(prefix, keys, values, rows + 1);
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                final String key = prefix + string();
+                skipWhitespace();
+                expect(':');
+                value(key, keys, values);
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                    continue;
+                }
+                expect('}');
+                pad(prefix, keys, values, rows + 1);
+                return;
+            }
+        }
+
+        /**
+         * Largest number of values of nested keys of an object, e.g. the
+         * number of objects of an array read before.
+         */
+        static int rows(String prefix, String[] keys, List<List<String>> values) {
+            int rows = 0;
+            for (int k = 0; k < keys.length; k++) {
+                if (keys[k].startsWith(prefix)) {
+                    rows = Math.max(rows, values.get(k).size());
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Fill nested keys missing in a nested object with empty values, such
+         * that values of the same object have the same position.
+         */
+        static void pad(String prefix, String[] keys, List<List<String>> values, int rows) {
+            if (prefix.isEmpty())
+                return;
+            rows = Math.max(rows, rows(prefix, keys, values));
+            for (int k = 0; k < keys.length; k++) {
+                if (keys[k].startsWith(prefix)) {
+                    while (values.get(k).size() < rows) {
+                        values.get(k).add("");
+                    }
+                }
+            }
+        }
+
+        void value(String key, String[] keys, List<List<String>> values) {
+            skipWhitespace();
+            final char c = peek();
+            if (c == '[') {
+                pos++;
+                skipWhitespace();
+                if (peek() == ']') {
+                    pos++;
+                    return;
+                }
+                while (true) {
+                    value(key, keys, values);
+                    skipWhitespace();
+                    if (peek() == ',') {
+                        pos++;
+                        continue;
+                    }
+                    expect(']');
+                    return;
+                }
+            }
+            if (c == '{') {
+                object(key + ".", keys, values);
+                return;
+            }
+            final String value = c == '"' ? string() : literal();
+            for (int k = 0; k < keys.length; k++) {
+                if (keys[k].equals(key)) {
+                    values.get(k).add(value);
+                }
+            }
+        }
+
+        String string() {
+            expect('"');
+            final StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= s.length())
+                    throw new IllegalArgumentException("unterminated string");
+                final char c = s.charAt(pos++);
+                if (c == '"')
+                    return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= s.length())
+                    throw new IllegalArgumentException("unterminated string");
+                final char e = s.charAt(pos++);
+                switch (e) {
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > s.length())
+                            throw new IllegalArgumentException("malformed escape");
+                        sb.append((char) Integer.parseInt(s, pos, pos + 4, 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(e); // '"', '\\', '/'
+                }
+            }
+        }
+
+        String literal() {
+            final int start = pos;
+            while (pos < s.length() && ",}] \t".indexOf(s.charAt(pos)) < 0) {
+                pos++;
+            }
+            if (start == pos)
+                throw new IllegalArgumentException("value expected at " + pos);
+            final String literal = s.substring(start, pos);
+            return literal.equals("null") ? "" : literal;
+        }
+
+        void skipWhitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        char peek() {
+            if (pos >= s.length())
+                throw new IllegalArgumentException("unexpected end of line");
+            return s.charAt(pos);
+        }
+
+        void expect(char c) {
+            if (peek() != c)
+                throw new IllegalArgumentException("'" + c + "' expected at " + pos);
+            pos++;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package datamodel.order;
+
+import java.util.Arrays;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+
+/**
+ * Builder of many orders at once for high-volume order intake. Orders are
+ * collected in a reusable buffer of parallel arrays without creating
+ * {@link Order} or {@link Order.OrderItem} objects, validated in bulk and
+ * appended to an {@link OrderStore} in one go:
+ * <pre>
+ * BatchOrderBuilder batch = BatchOrderBuilder.local();
+ * batch.order(eric, PricingCategory.BasePricing).item(tasse, 4).item(buch, 1);
+ * batch.order(anne, PricingCategory.BasePricing, articles, quantities);
+ * int emitted = batch.emit(store);     // buffer is cleared for reuse
+ * </pre>
+ * Orders are valid with a customer and at least one item, items with an
+ * article and a positive quantity. Invalid orders are not emitted, their
+ * positions in the batch are reported by {@link #rejected()}. Orders
+ * without a valid ID are given a generated ID, see {@link OrderIdGenerator}.
+ * Emitted orders are published to the {@link OrderFeed} as views of the
+ * store.
+ * <p>
+ * Buffers only grow and are kept after {@link #emit(OrderStore)}, such that
+ * a builder reused for batches of similar size allocates nothing. Class is
+ * not thread-safe, {@link #local()} returns a builder per thread.
+ */
+public final class BatchOrderBuilder {
+
+    private static final ThreadLocal<BatchOrderBuilder> pool = ThreadLocal.withInitial(BatchOrderBuilder::new);
+
+    /*
+     * Order columns, itemEnd[i] is the end of items of order i.
+     */
+    private long[] ids;
+    private Customer[] customers;
+    private PricingCategory[] categories;
+    private int[] itemEnd;
+    private int size;
+
+    /*
+     * Item columns.
+     */
+    private Article[] articles;
+    private int[] quantities;
+    private int items;
+
+    /*
+     * Positions of rejected orders of the last emit.
+     */
+    private int[] rejected = new int[0];
+    private int rejectedCount;
+
+    /**
+     * Create builder with default capacities.
+     */
+    public BatchOrderBuilder() {
+        this(256, 1024);
+    }
+
+    /**
+     * Create builder with initial capacities.
+     * @param orderCapacity initial number of orders of a batch
+     * @param itemCapacity initial number of items of all orders of a batch
+     * @throws IllegalArgumentException with negative capacities
+     */
+    public BatchOrderBuilder(int orderCapacity, int itemCapacity) {
+        if (orderCapacity < 0 || itemCapacity < 0)
+            throw new IllegalArgumentException("negative capacity");
+        this.ids = new long[orderCapacity];
+        this.customers = new Customer[orderCapacity];
+        this.categories = new PricingCategory[orderCapacity];
+        this.itemEnd = new int[orderCapacity];
+        this.articles = new Article[itemCapacity];
+        this.quantities = new int[itemCapacity];
+    }
+
+    /**
+     * Returns the builder of the current thread, which is empty unless
+     * orders were added and not emitted.
+     * @return builder of current thread
+     */
+    public static BatchOrderBuilder local() {
+        return pool.get();
+    }
+
+    /**
+     * Begin next order with a generated ID, items are added with
+     * {@link #item(Article, int)}.
+     * @param customer customer of order
+     * @param category pricing category of order
+     * @return this builder for method chaining
+     */
+    public BatchOrderBuilder order(Customer customer, PricingCategory category) {
+        return order(0L, customer, category);
+    }
+
+    /**
+     * Begin next order, items are added with {@link #item(Article, int)}.
+     * @param id order ID, IDs other than 10 digits are replaced by a generated ID
+     * @param customer customer of order
+     * @param category pricing category of order
+     * @return this builder for method chaining
+     */
+    public BatchOrderBuilder order(long id, Customer customer, PricingCategory category) {
+        ensureOrderCapacity(size + 1);
+        ids[size] = id;
+        customers[size] = customer;
+        categories[size] = category;
+        itemEnd[size] = items;
+        size++;
+        return this;
+    }
+
+    /**
+     * Add next order with items given as parallel arrays.
+     * @param customer customer of order
+     * @param category pricing category of order
+     * @param articles articles of items
+     * @param quantities quantities of items, same length as articles
+     * @return this builder for method chaining
+     * @throws IllegalArgumentException with null arrays or arrays of
+     *         different lengths
+     */
+    public BatchOrderBuilder order(Customer customer, PricingCategory category, Article[] articles, int[] quantities) {
+        if (articles == null || quantities == null)
+            throw new IllegalArgumentException("argument articles, quantities: null");
+        if (articles.length != quantities.length)
+            throw new IllegalArgumentException("articles and quantities of different length");
+        order(0L, customer, category);
+        ensureItemCapacity(items + articles.length);
+        System.arraycopy(articles, 0, this.articles, items, articles.length);
+        System.arraycopy(quantities, 0, this.quantities, items, quantities.length);
+        items += articles.length;
+        itemEnd[size - 1] = items;
+        return this;
+    }
+
+    /**
+     * Add item to the current order.
+     * @param article article of item
+     * @param quantity quantity of item
+     * @return this builder for method chaining
+     * @throws IllegalStateException when no order was begun
+     */
+    public BatchOrderBuilder item(Article article, int quantity) {
+        if (size == 0)
+            throw new IllegalStateException("no order begun");
+        ensureItemCapacity(items + 1);
+        articles[items] = article;
+        quantities[items++] = quantity;
+        itemEnd[size - 1] = items;
+        return this;
+    }
+
+    /**
+     * Returns the number of orders in the batch.
+     * @return number of orders
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Validate all orders of the batch and append valid orders to a store.
+     * The batch is cleared afterwards.
+     * @param store store to append orders to
+     * @return number of orders appended
+     * @throws IllegalArgumentException with null store
+     */
+    public int emit(OrderStore store) {
+        if (store == null)
+            throw new IllegalArgumentException("argument store: null");
+        // validate all orders first to reserve the store once
+        if (rejected.length < size) {
+            rejected = new int[Math.max(size, rejected.length * 2)];
+        }
+        rejectedCount = 0;
+        int validItems = 0;
+        for (int i = 0, from = 0; i < size; from = itemEnd[i++]) {
+            if (isValid(i, from)) {
+                validItems += itemEnd[i] - from;
+            } else {
+                rejected[rejectedCount++] = i;
+            }
+        }
+        store.reserve(size - rejectedCount, validItems);
+        final OrderIdGenerator generator = OrderIdGenerator.getInstance();
+        final int first = store.size();
+        for (int i = 0, from = 0, r = 0; i < size; from = itemEnd[i++]) {
+            if (r < rejectedCount && rejected[r] == i) {
+                r++;
+                continue;
+            }
+            final long id = OrderIdGenerator.isValid(ids[i]) ? ids[i] : generator.next();
+            store.append(id, customers[i], categories[i], articles, quantities, from, itemEnd[i]);
+        }
+        final OrderFeed feed = OrderFeed.getInstance();
+        if (feed.hasSubscribers()) {
+            for (int i = first; i < store.size(); i++) {
+                feed.publish(store.get(i));
+            }
+        }
+        final int emitted = size - rejectedCount;
+        clear();
+        return emitted;
+    }
+
+    /**
+     * Returns the positions of orders rejected by the last
+     * {@link #emit(OrderStore)} in ascending order.
+     * @return positions of rejected orders in the last batch
+     */
+    public int[] rejected() {
+        return Arrays.copyOf(rejected, rejectedCount);
+    }
+
+    /**
+     * Remove all orders from the batch, buffers are kept.
+     */
+    public void clear() {
+        // release references to customers and articles
+        Arrays.fill(customers, 0, size, null);
+        Arrays.fill(categories, 0, size, null);
+        Arrays.fill(articles, 0, items, null);
+        size = 0;
+        items = 0;
+    }
+
+    /**
+     * Test order at position i with items starting at from.
+     */
+    private boolean isValid(int i, int from) {
+        final int to = itemEnd[i];
+        if (customers[i] == null || to == from)
+            return false;
+        for (int j = from; j < to; j++) {
+            if (articles[j] == null || quantities[j] <= 0)
+                return false;
+        }
+        return true;
+    }
+
+    private void ensureOrderCapacity(int capacity) {
+        if (capacity > ids.length) {
+            final int n = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, n);
+            customers = Arrays.copyOf(customers, n);
+            categories = Arrays.copyOf(categories, n);
+            itemEnd = Arrays.copyOf(itemEnd, n);
+        }
+    }
+
+    private void ensureItemCapacity(int capacity) {
+        if (capacity > articles.length) {
+            final int n = Math.max(capacity, articles.length * 2);
+            articles = Arrays.copyOf(articles, n);
+            quantities = Arrays.copyOf(quantities, n);
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package datamodel.order;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import datamodel.*;
 import datamodel.Pricing.PricingCategory;
 
 /**
- * Represents an order in the system.
+ * Represents an order in the system. Orders are immutable, items are taken
+ * as a compact snapshot when the order is created and are read without
+ * copies, such that orders can be shared across threads. Values of orders
+ * are computed once per pricing category and cached, see
+ * {@link #valuation(PricingCategory)}.
  */
 public class Order {
     private final long id;
@@ -15,11 +18,30 @@ public class Order {
     private final List<OrderItem> items;
     private final PricingCategory category;
 
+    /**
+     * Valuations by {@link PricingCategory} ordinal, the last for articles in
+     * their own categories, created lazily by {@link #valuation(PricingCategory)}.
+     */
+    private volatile OrderValuation[] valuations;
+
     /**
      * Represents an item in an order with its article and quantity.
      */
     public record OrderItem(Article article, int quantity) { }
 
+    /**
+     * Callback for items of an order, see {@link Order#forEachItem(ItemConsumer)}.
+     */
+    @FunctionalInterface
+    public interface ItemConsumer {
+        /**
+         * Accept item of an order.
+         * @param article article of item
+         * @param quantity quantity of item
+         */
+        void accept(Article article, int quantity);
+    }
+
     /**
      * Creates a new Order.
      * 
@@ -32,7 +54,7 @@ public class Order {
     protected Order(long id, Customer customer, List<OrderItem> items, PricingCategory category) {
         this.id = id;
         this.customer = customer;
-        this.items = items;
+        this.items = items != null ? List.copyOf(items) : null;  // views pass null
         this.category = category;
     }
 
@@ -54,16 +76,108 @@ public class Order {
 
     /**
      * Returns the list of items in this order.
-     * @return list of order items
+     * @return unmodifiable list of order items
      */
     public List<OrderItem> getItems() {
-        return new ArrayList<>(items); // Return a copy of the items list
+        return items();
+    }
+
+    /**
+     * Returns the items of this order for iteration.
+     * @return unmodifiable order items
+     */
+    public Iterable<OrderItem> getOrderItems() {
+        return items();
+    }
+
+    /**
+     * Returns an item of this order.
+     * @param i number of item
+     * @return order item
+     * @throws IndexOutOfBoundsException when i is out of range
+     */
+    public OrderItem getItem(int i) {
+        return items().get(i);
+    }
+
+    /**
+     * Returns the number of items in this order.
+     * @return number of items
+     */
+    public int itemsCount() {
+        return items().size();
+    }
+
+    /**
+     * Pass article and quantity of all items in order to a callback.
+     * @param consumer callback for items
+     */
+    public void forEachItem(ItemConsumer consumer) {
+        final List<OrderItem> items = items();
+        for (int i = 0; i < items.size(); i++) {
+            final OrderItem item = items.get(i);
+            consumer.accept(item.article(), item.quantity());
+        }
+    }
+
+    /**
+     * Returns the items list without copy for use within the package and
+     * by views of orders held in other forms, e.g. {@link OrderStore}.
+     * @return unmodifiable list of order items
+     */
+    protected List<OrderItem> items() {
+        return items;
     }
 
     public PricingCategory getCategory() {
         return this.category;
     }
 
+    /**
+     * Returns the value of this order in its pricing category, see
+     * {@link #valuation(PricingCategory)}. Views of orders held in other
+     * forms cache values as their store does, see {@link OrderStore}.
+     * @return valuation of order
+     */
+    public OrderValuation valuation() {
+        return valuation(getCategory());
+    }
 
+    /**
+     * Returns the value of this order in a pricing category: gross, net and
+     * VAT by tax rate, item and unit count. Values are computed once per
+     * category and cached in one slot per category, orders are immutable and
+     * prices of articles do not change. The slots are created once under the
+     * order's lock, valuations are immutable and published safely by their
+     * final fields, such that threads may compute the same valuation
+     * concurrently and one result is kept.
+     * @param category pricing category, the category of each article when null
+     * @return valuation of order
+     */
+    public OrderValuation valuation(PricingCategory category) {
+        OrderValuation[] cache = valuations;
+        if (cache == null) {
+            synchronized (this) {
+                cache = valuations;
+                if (cache == null) {
+                    valuations = cache = new OrderValuation[PricingCategory.values().length + 1];
+                }
+            }
+        }
+        final int i = category != null ? category.ordinal() : cache.length - 1;
+        OrderValuation valuation = cache[i];
+        if (valuation == null) {
+            cache[i] = valuation = OrderValuation.of(items(), category);
+        }
+        return valuation;
+    }
 
-}
\ No newline at end of file
+    /**
+     * Returns the pricing of the order's category.
+     * @return pricing or null if order has no category
+     */
+    public Pricing getPricing() {
+        final PricingCategory category = getCategory();
+        return category != null ? category.pricing() : null;
+    }
+}
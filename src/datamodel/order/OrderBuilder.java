@@ -1,40 +1,102 @@
 package datamodel.order;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
-import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import datamodel.*;
 import datamodel.Pricing.PricingCategory;
 
 /**
  * Builder class for creating Order instances.
+ * Order IDs are drawn from the shared {@link OrderIdGenerator}. Built
+ * orders are published to the {@link OrderFeed}.
+ * <p>
+ * Builders created with resolvers of customers and articles build orders
+ * from specifications with {@link #buildOrder(String, Consumer)}:
+ * <pre>
+ * Optional&lt;Order&gt; order = builder.buildOrder("Eric", o -&gt; o
+ *     .item(4, "Teller")
+ *     .item(1, "Buch 'UML'"));
+ * </pre>
+ * Specifications are resolved through bounded LRU caches such that repeated
+ * specifications are resolved once, see {@link ResolverCache}.
  */
 public class OrderBuilder {
+
+    /**
+     * Maximum number of cached specifications per resolver.
+     */
+    static final int RESOLVER_CACHE_SIZE = 256;
+
     private long id;
     private Customer customer;
     private PricingCategory category; 
     private List<Order.OrderItem> items = new ArrayList<>();
-    private Set<Long> idSet = new HashSet<>();
+    private final Function<String, Optional<Customer>> customerResolver;  // null without resolvers
+    private final Function<String, Optional<Article>> articleResolver;    // null without resolvers
 
-    // Method to set the ID
-    public OrderBuilder withId(long id) {
+    /**
+     * Specification of the items of an order built by
+     * {@link OrderBuilder#buildOrder(String, Consumer)}.
+     */
+    public final class OrderSpec {
+        private final List<Order.OrderItem> items = new ArrayList<>();
+        private boolean valid = true;
 
-        if (idSet.add(id)) {id = genID();}
+        private OrderSpec() {
+        }
 
-        this.id = id;
-        return this; // Return the builder for method chaining
+        /**
+         * Add item given by quantity and article specification. Articles that
+         * do not resolve and quantities below 1 make the order invalid.
+         * @param quantity quantity of item
+         * @param articleSpec specification of article, e.g. ID or description
+         * @return this spec for method chaining
+         */
+        public OrderSpec item(int quantity, String articleSpec) {
+            final Optional<Article> article = articleResolver.apply(articleSpec);
+            if (article.isPresent() && quantity > 0) {
+                items.add(new Order.OrderItem(article.get(), quantity));
+            } else {
+                valid = false;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Create builder, orders are built with {@code with...} methods and
+     * {@link #build()}.
+     */
+    public OrderBuilder() {
+        this.customerResolver = null;
+        this.articleResolver = null;
     }
 
-    private long genID(){
-        return genID(0L);
+    /**
+     * Create builder of orders from specifications with
+     * {@link #buildOrder(String, Consumer)}, resolvers are cached.
+     * @param category pricing category of built orders
+     * @param customerResolver resolver of customer specifications
+     * @param articleResolver resolver of article specifications
+     * @throws IllegalArgumentException with null resolvers
+     */
+    public OrderBuilder(PricingCategory category, Function<String, Optional<Customer>> customerResolver,
+            Function<String, Optional<Article>> articleResolver) {
+        if (customerResolver == null || articleResolver == null)
+            throw new IllegalArgumentException("argument resolver: null");
+        this.category = category;
+        this.customerResolver = new ResolverCache<>(customerResolver, RESOLVER_CACHE_SIZE);
+        this.articleResolver = new ResolverCache<>(articleResolver, RESOLVER_CACHE_SIZE);
     }
-    private long genID(long seed){
-        long newId = Math.abs(new Random().nextLong());
-        return idSet.add(newId)? newId:genID(id);
+
+    // Method to set the ID, IDs other than 10 digits are replaced by a generated ID
+    public OrderBuilder withId(long id) {
+        this.id = OrderIdGenerator.isValid(id) ? id : OrderIdGenerator.getInstance().next();
+        return this; // Return the builder for method chaining
     }
 
     // Method to set the customer
@@ -59,13 +121,45 @@ public class OrderBuilder {
         return this; // Return the builder for method chaining
     }
 
+    /**
+     * Build order from a customer specification and item specifications
+     * with a generated ID and the category of the builder. The builder's
+     * own state set by {@code with...} methods is not used or changed, such
+     * that one builder can build many orders, also from multiple threads.
+     * @param customerSpec specification of customer, e.g. ID or name
+     * @param spec adds items to the order, e.g. {@code o -> o.item(4, "Teller")}
+     * @return order or empty Optional when customer or an article does not
+     *         resolve, a quantity is below 1 or the order has no items
+     * @throws IllegalArgumentException with null spec
+     * @throws IllegalStateException when builder has no resolvers
+     */
+    public Optional<Order> buildOrder(String customerSpec, Consumer<OrderSpec> spec) {
+        if (spec == null)
+            throw new IllegalArgumentException("argument spec: null");
+        if (customerResolver == null)
+            throw new IllegalStateException("builder has no resolvers");
+        final Optional<Customer> c = customerResolver.apply(customerSpec);
+        if (c.isEmpty())
+            return Optional.empty();
+        final OrderSpec order = new OrderSpec();
+        spec.accept(order);
+        if (!order.valid || order.items.isEmpty())
+            return Optional.empty();
+        final Order built = new Order(OrderIdGenerator.getInstance().next(), c.get(), order.items, category);
+        OrderFeed.getInstance().publish(built);
+        return Optional.of(built);
+    }
+
     // Build method to create the Order object
     public Optional<Order> build() {
         if (customer == null) {return Optional.empty();}    // Check if has customer
-        if (id == 0) {this.withId(10000000);}            // Check if has id
         if (items.isEmpty())  {return Optional.empty();}      // check if has items
+        // generate id without keeping it, such that each build() yields a new order ID
+        final long orderId = id != 0 ? id : OrderIdGenerator.getInstance().next();
 
-        return Optional.of(new Order(id, customer,items,category)); // Create a new Order using the builder
+        final Order order = new Order(orderId, customer,items,category); // Create a new Order using the builder
+        OrderFeed.getInstance().publish(order);
+        return Optional.of(order);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package datamodel.order;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Feed of newly built orders. Orders built by {@link OrderBuilder} and
+ * emitted by {@link BatchOrderBuilder} are passed to all subscribers, e.g.
+ * {@link RevenueAggregator}. Implements the Singleton pattern.
+ * <p>
+ * Subscribers are called in the thread that builds the order and must be
+ * thread-safe. Exceptions thrown by subscribers are contained, such that
+ * building orders never fails because of a subscriber. The order is still
+ * passed to the other subscribers, failures are counted by
+ * {@link #failures()}. Publishing without subscribers costs one volatile read.
+ */
+public final class OrderFeed {
+
+    private static final OrderFeed instance = new OrderFeed();
+
+    private final CopyOnWriteArrayList<Consumer<? super Order>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Number of exceptions thrown by subscribers.
+     */
+    private final LongAdder failures = new LongAdder();
+
+    private OrderFeed() {
+    }
+
+    /**
+     * Returns the singleton instance of the OrderFeed.
+     * @return the singleton instance
+     */
+    public static OrderFeed getInstance() {
+        return instance;
+    }
+
+    /**
+     * Subscribe to newly built orders, subscribing a subscriber again has
+     * no effect such that orders are passed to it once.
+     * @param subscriber called with each newly built order
+     * @throws IllegalArgumentException with null subscriber
+     */
+    public void subscribe(Consumer<? super Order> subscriber) {
+        if (subscriber == null)
+            throw new IllegalArgumentException("argument subscriber: null");
+        subscribers.addIfAbsent(subscriber);
+    }
+
+    /**
+     * Remove subscriber, it is no longer called with new orders.
+     * @param subscriber subscriber to remove
+     * @return true if subscriber was subscribed
+     */
+    public boolean unsubscribe(Consumer<? super Order> subscriber) {
+        return subscribers.remove(subscriber);
+    }
+
+    /**
+     * Returns the number of exceptions thrown by subscribers, which were
+     * contained when publishing orders.
+     * @return number of failed calls of subscribers
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Test whether feed has subscribers, such that orders held in other
+     * forms need not be turned into {@link Order} objects without.
+     * @return true if feed has subscribers
+     */
+    boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Pass newly built order to all subscribers.
+     * @param order newly built order
+     */
+    void publish(Order order) {
+        for (Consumer<? super Order> subscriber : subscribers) {
+            try {
+                subscriber.accept(order);
+            } catch (RuntimeException e) {
+                failures.increment();   // order is built, a subscriber must not fail it
+            }
+        }
+    }
+}
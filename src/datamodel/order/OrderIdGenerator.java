@@ -0,0 +1,104 @@
+package datamodel.order;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central generator of unique 10-digit order IDs shared by all
+ * {@link OrderBuilder} instances. Implements the Singleton pattern.
+ * <p>
+ * IDs are derived from a striped sequence: each thread reserves blocks of
+ * sequence numbers from a shared {@link AtomicLong} and hands them out
+ * locally without contention. Sequence numbers are mapped to IDs by the
+ * bijection {@code MIN_ID + (seq * MULTIPLIER + offset) % RANGE}, which
+ * makes IDs look random, e.g. {@code 8592356245}, while remaining unique
+ * for all {@code RANGE} sequence numbers without a set of issued IDs.
+ * <p>
+ * IDs are unique within one process. The offset is chosen randomly at
+ * startup, IDs are not coordinated across processes.
+ */
+public final class OrderIdGenerator {
+
+    /**
+     * Smallest order ID (10 digits).
+     */
+    public static final long MIN_ID = 1_000_000_000L;
+
+    /**
+     * Largest order ID (10 digits).
+     */
+    public static final long MAX_ID = 9_999_999_999L;
+
+    /**
+     * Number of available order IDs.
+     */
+    private static final long RANGE = MAX_ID - MIN_ID + 1;
+
+    /**
+     * Prime multiplier coprime to {@link #RANGE} such that the mapping of
+     * sequence numbers to IDs is a bijection. {@code RANGE * MULTIPLIER} does
+     * not overflow a {@code long}.
+     */
+    private static final long MULTIPLIER = 999_999_937L;
+
+    /**
+     * Number of sequence numbers a thread reserves at once.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final OrderIdGenerator instance =
+            new OrderIdGenerator(ThreadLocalRandom.current().nextLong(RANGE));
+
+    /**
+     * Next sequence number not reserved by any thread.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Offset added to sequence numbers before mapping to IDs.
+     */
+    private final long offset;
+
+    /**
+     * Per-thread block of reserved sequence numbers: {@code [next, end)}.
+     */
+    private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+    private OrderIdGenerator(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the singleton instance of the OrderIdGenerator.
+     * @return the singleton instance
+     */
+    public static OrderIdGenerator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the next unique order ID.
+     * @return unique 10-digit order ID
+     * @throws IllegalStateException when all order IDs are issued
+     */
+    public long next() {
+        final long[] b = block.get();
+        if (b[0] == b[1]) {
+            final long start = sequence.getAndAdd(BLOCK_SIZE);
+            if (start >= RANGE)
+                throw new IllegalStateException("order IDs exhausted");
+            b[0] = start;
+            b[1] = Math.min(start + BLOCK_SIZE, RANGE);
+        }
+        return MIN_ID + (b[0]++ * MULTIPLIER + offset) % RANGE;
+    }
+
+    /**
+     * Test whether an ID is in the range of order IDs.
+     * @param id ID to test
+     * @return true if id has 10 digits
+     */
+    public static boolean isValid(long id) {
+        return id >= MIN_ID && id <= MAX_ID;
+    }
+}
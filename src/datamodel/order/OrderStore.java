@@ -0,0 +1,423 @@
+package datamodel.order;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+/**
+ * Compact store of orders in columnar primitive arrays. Instead of one
+ * {@link Order} object with a list of {@link Order.OrderItem} records per
+ * order, orders and items are held in parallel arrays:
+ * <pre>
+ * orders: orderId[]      long   order ID
+ *         customerIdx[]  int    index into customer dictionary
+ *         category[]     byte   PricingCategory ordinal, -1 for none
+ *         itemOffset[]   int    first item of order, itemOffset[n] = items
+ * items:  articleIdx[]   int    index into article dictionary
+ *         qty[]          int    quantity
+ * </pre>
+ * Customers and articles are held once in dictionaries, such that an order
+ * costs 17 bytes and an item 8 bytes.
+ * <p>
+ * Valuations of orders in their own categories, see {@link Order#valuation()},
+ * are computed on each call unless the store is created to cache them. A
+ * caching store values orders when they are appended and keeps gross value
+ * and VAT per {@link TAXRate} in a primitive column of
+ * another 64 bytes per order, views rebuild valuations from the column
+ * without pricing articles.
+ * <p>
+ * The store is a {@code List<Order>}. Elements are light-weight views that
+ * read the columns on access, such that code written for {@link Order},
+ * e.g. printing and calculations, runs on the store unchanged. Views hold
+ * no data other than their position. Orders are appended with
+ * {@link #add(Order)} or in batches with {@link BatchOrderBuilder} and
+ * cannot be removed.
+ * <p>
+ * Class is not thread-safe. Views can be read concurrently when no orders
+ * are added.
+ */
+public final class OrderStore extends AbstractList<Order> implements RandomAccess {
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+
+    private static final TAXRate[] taxRates = TAXRate.values();
+
+    /**
+     * Values per order in the value column, gross value and VAT per tax rate.
+     */
+    private static final int VALUES = 2 * taxRates.length;
+
+    /*
+     * Order columns.
+     */
+    private long[] orderId;
+    private int[] customerIdx;
+    private byte[] category;
+    private int[] itemOffset;
+    private int size;
+
+    /*
+     * Item columns.
+     */
+    private int[] articleIdx;
+    private int[] qty;
+    private int items;
+
+    /*
+     * Gross value and VAT per tax rate of orders in their own categories at
+     * value[i * VALUES + 2 * rate.ordinal()], null unless valuations are cached.
+     */
+    private long[] value;
+
+    /*
+     * Dictionaries of customers and articles with reverse lookup.
+     */
+    private final List<Customer> customers = new ArrayList<>();
+    private final Map<Customer, Integer> customerIndex = new IdentityHashMap<>();
+    private final List<Article> articles = new ArrayList<>();
+    private final Map<Article, Integer> articleIndex = new IdentityHashMap<>();
+
+    /**
+     * Create empty store.
+     */
+    public OrderStore() {
+        this(1024, 4096);
+    }
+
+    /**
+     * Create empty store with initial capacities.
+     * @param orderCapacity initial number of orders
+     * @param itemCapacity initial number of items of all orders
+     * @throws IllegalArgumentException with negative capacities
+     */
+    public OrderStore(int orderCapacity, int itemCapacity) {
+        this(orderCapacity, itemCapacity, false);
+    }
+
+    /**
+     * Create empty store with initial capacities that optionally caches
+     * valuations of orders.
+     * @param orderCapacity initial number of orders
+     * @param itemCapacity initial number of items of all orders
+     * @param cacheValuations true to value orders when appended and keep
+     *        their values in a primitive column
+     * @throws IllegalArgumentException with negative capacities
+     */
+    public OrderStore(int orderCapacity, int itemCapacity, boolean cacheValuations) {
+        if (orderCapacity < 0 || itemCapacity < 0)
+            throw new IllegalArgumentException("negative capacity");
+        this.value = cacheValuations ? new long[orderCapacity * VALUES] : null;
+        this.orderId = new long[orderCapacity];
+        this.customerIdx = new int[orderCapacity];
+        this.category = new byte[orderCapacity];
+        this.itemOffset = new int[orderCapacity + 1];
+        this.articleIdx = new int[itemCapacity];
+        this.qty = new int[itemCapacity];
+    }
+
+    /**
+     * Append order to the store, the order object is not referenced after.
+     * @param order order to append
+     * @return true
+     * @throws IllegalArgumentException with null order
+     */
+    @Override
+    public boolean add(Order order) {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        final List<Order.OrderItem> orderItems = order.items();
+        ensureCapacity(size + 1, items + orderItems.size());
+        for (Order.OrderItem item : orderItems) {
+            articleIdx[items] = indexOf(articles, articleIndex, item.article());
+            qty[items++] = item.quantity();
+        }
+        final int i = size;
+        orderId[i] = order.getId();
+        customerIdx[i] = indexOf(customers, customerIndex, order.getCustomer());
+        category[i] = (byte) (order.getCategory() != null ? order.getCategory().ordinal() : -1);
+        itemOffset[i + 1] = items;
+        if (value != null) {
+            cacheValuation(i, order.valuation());
+        }
+        size = i + 1;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Append order given by columns without an {@link Order} object, used by
+     * {@link BatchOrderBuilder}. Arguments are not validated.
+     * @param id order ID
+     * @param customer customer of order
+     * @param cat pricing category or null
+     * @param articles articles of items
+     * @param quantities quantities of items
+     * @param from first item of order in articles and quantities
+     * @param to end of items of order in articles and quantities
+     */
+    void append(long id, Customer customer, PricingCategory cat, Article[] articles, int[] quantities, int from, int to) {
+        ensureCapacity(size + 1, items + to - from);
+        for (int j = from; j < to; j++) {
+            articleIdx[items] = indexOf(this.articles, articleIndex, articles[j]);
+            qty[items++] = quantities[j];
+        }
+        final int i = size;
+        orderId[i] = id;
+        customerIdx[i] = indexOf(customers, customerIndex, customer);
+        category[i] = (byte) (cat != null ? cat.ordinal() : -1);
+        itemOffset[i + 1] = items;
+        if (value != null) {
+            cacheValuation(i, OrderValuation.of(new View(i).items(), cat));
+        }
+        size = i + 1;
+        modCount++;
+    }
+
+    /**
+     * Keep gross value and VAT per tax rate of the order at a position.
+     */
+    private void cacheValuation(int i, OrderValuation valuation) {
+        for (TAXRate rate : taxRates) {
+            final int v = i * VALUES + 2 * rate.ordinal();
+            value[v] = valuation.gross(rate);
+            value[v + 1] = valuation.vat(rate);
+        }
+    }
+
+    /**
+     * Grow columns such that a number of orders and items can be appended
+     * without further growth.
+     * @param orders number of orders to append
+     * @param items number of items of orders to append
+     */
+    void reserve(int orders, int items) {
+        ensureCapacity(size + orders, this.items + items);
+    }
+
+    /**
+     * Returns a view of the order at a position.
+     * @param i position of order
+     * @return order view
+     * @throws IndexOutOfBoundsException when i is out of range
+     */
+    @Override
+    public Order get(int i) {
+        return new View(checkIndex(i));
+    }
+
+    /**
+     * Returns the number of orders in the store.
+     * @return number of orders
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of items of all orders in the store.
+     * @return number of items
+     */
+    public int itemsCount() {
+        return items;
+    }
+
+    /**
+     * Returns the ID of the order at a position.
+     * @param i position of order
+     * @return order ID
+     */
+    public long orderId(int i) {
+        return orderId[checkIndex(i)];
+    }
+
+    /**
+     * Returns the customer of the order at a position.
+     * @param i position of order
+     * @return customer
+     */
+    public Customer customer(int i) {
+        return customers.get(customerIdx[checkIndex(i)]);
+    }
+
+    /**
+     * Returns the pricing category of the order at a position.
+     * @param i position of order
+     * @return pricing category, null if order has none
+     */
+    public PricingCategory category(int i) {
+        final byte c = category[checkIndex(i)];
+        return c >= 0 ? categories[c] : null;
+    }
+
+    /**
+     * Returns the number of items of the order at a position.
+     * @param i position of order
+     * @return number of items
+     */
+    public int itemCount(int i) {
+        checkIndex(i);
+        return itemOffset[i + 1] - itemOffset[i];
+    }
+
+    /**
+     * Returns the article of an item of the order at a position.
+     * @param i position of order
+     * @param item number of item in order
+     * @return article of item
+     */
+    public Article article(int i, int item) {
+        return articles.get(articleIdx[item(i, item)]);
+    }
+
+    /**
+     * Returns the quantity of an item of the order at a position.
+     * @param i position of order
+     * @param item number of item in order
+     * @return quantity of item
+     */
+    public int quantity(int i, int item) {
+        return qty[item(i, item)];
+    }
+
+    /**
+     * Position of an item in the item columns.
+     */
+    private int item(int i, int item) {
+        checkIndex(i);
+        if (item < 0 || item >= itemOffset[i + 1] - itemOffset[i])
+            throw new IndexOutOfBoundsException("item " + item + " of order " + i);
+        return itemOffset[i] + item;
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("order " + i + ", size " + size);
+        return i;
+    }
+
+    /**
+     * Grow columns to hold a number of orders and items.
+     */
+    private void ensureCapacity(int orderCapacity, int itemCapacity) {
+        if (orderCapacity > orderId.length) {
+            final int n = Math.max(orderCapacity, orderId.length * 2);
+            orderId = Arrays.copyOf(orderId, n);
+            customerIdx = Arrays.copyOf(customerIdx, n);
+            category = Arrays.copyOf(category, n);
+            itemOffset = Arrays.copyOf(itemOffset, n + 1);
+            if (value != null) {
+                value = Arrays.copyOf(value, n * VALUES);
+            }
+        }
+        if (itemCapacity > articleIdx.length) {
+            final int n = Math.max(itemCapacity, articleIdx.length * 2);
+            articleIdx = Arrays.copyOf(articleIdx, n);
+            qty = Arrays.copyOf(qty, n);
+        }
+    }
+
+    /**
+     * Index of an object in a dictionary, objects are added when absent.
+     */
+    private static <T> int indexOf(List<T> dictionary, Map<T, Integer> index, T object) {
+        return index.computeIfAbsent(object, o -> {
+            dictionary.add(o);
+            return dictionary.size() - 1;
+        });
+    }
+
+    /**
+     * View of an order in the store that reads columns on access.
+     */
+    private final class View extends Order {
+        private final int i;
+
+        View(int i) {
+            super(0L, null, null, null);
+            this.i = i;
+        }
+
+        @Override
+        public long getId() {
+            return orderId[i];
+        }
+
+        @Override
+        public Customer getCustomer() {
+            return customers.get(customerIdx[i]);
+        }
+
+        @Override
+        public PricingCategory getCategory() {
+            return category(i);
+        }
+
+        @Override
+        public int itemsCount() {
+            return itemOffset[i + 1] - itemOffset[i];
+        }
+
+        /**
+         * Valuation rebuilt from the value column of a caching store,
+         * items and units are counted from the item columns. Views of
+         * other stores value the order on each call.
+         */
+        @Override
+        public OrderValuation valuation() {
+            if (value == null)
+                return OrderValuation.of(items(), getCategory());
+            final long[] totals = OrderValuation.newTotals();
+            for (int r = 0, v = i * VALUES; r < taxRates.length; r++, v += 2) {
+                totals[r * OrderValuation.FIELDS + OrderValuation.GROSS] = value[v];
+                totals[r * OrderValuation.FIELDS + OrderValuation.VAT] = value[v + 1];
+            }
+            for (int j = itemOffset[i]; j < itemOffset[i + 1]; j++) {
+                final int t = OrderValuation.offset(articles.get(articleIdx[j]).getTaxRate());
+                totals[t + OrderValuation.ITEMS]++;
+                totals[t + OrderValuation.UNITS] += qty[j];
+            }
+            return new OrderValuation(totals);
+        }
+
+        @Override
+        public OrderValuation valuation(PricingCategory category) {
+            return category == getCategory() ? valuation() : super.valuation(category);
+        }
+
+        @Override
+        public void forEachItem(ItemConsumer consumer) {
+            for (int j = itemOffset[i]; j < itemOffset[i + 1]; j++) {
+                consumer.accept(articles.get(articleIdx[j]), qty[j]);
+            }
+        }
+
+        @Override
+        protected List<OrderItem> items() {
+            final int from = itemOffset[i];
+            final int count = itemOffset[i + 1] - from;
+            return new AbstractList<>() {
+                @Override
+                public OrderItem get(int item) {
+                    if (item < 0 || item >= count)
+                        throw new IndexOutOfBoundsException("item " + item + " of order " + i);
+                    return new OrderItem(articles.get(articleIdx[from + item]), qty[from + item]);
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package datamodel.order;
+
+import java.util.Collection;
+
+import datamodel.Article;
+import datamodel.PricingIndex;
+import datamodel.VATCalculator;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+/**
+ * Value of an {@link Order} in a {@link PricingCategory} computed in a single
+ * pass over its items: gross value, VAT included, items and units in total
+ * and per {@link TAXRate}, and net value. VAT is calculated per item on the
+ * item value ({@code unit price * quantity}) with commercial rounding.
+ * <p>
+ * Prices are read from {@link PricingIndex}. Objects are immutable, totals
+ * per tax rate are packed into one array, such that a valuation allocates
+ * the object and one array.
+ */
+public final class OrderValuation {
+
+    private static final TAXRate[] taxRates = TAXRate.values();
+
+    /*
+     * Totals per tax rate at byRate[rate.ordinal() * FIELDS + field].
+     */
+    static final int GROSS = 0;
+    static final int VAT = 1;
+    static final int ITEMS = 2;
+    static final int UNITS = 3;
+    static final int FIELDS = 4;
+
+    /**
+     * Gross value, VAT, items and units by {@link TAXRate}, see {@link #FIELDS}.
+     */
+    private final long[] byRate;
+
+    /**
+     * Gross value (including VAT) of all items.
+     */
+    private final long gross;
+
+    /**
+     * Number of items (order lines).
+     */
+    private final int itemCount;
+
+    /**
+     * Number of units ordered (sum of quantities).
+     */
+    private final long unitCount;
+
+    /**
+     * Create valuation of totals per tax rate, the array is not copied.
+     * @param byRate totals per tax rate, length {@code FIELDS * TAXRate.values().length}
+     */
+    OrderValuation(long[] byRate) {
+        long gross = 0L, units = 0L;
+        int items = 0;
+        for (int r = 0; r < byRate.length; r += FIELDS) {
+            gross += byRate[r + GROSS];
+            items += (int) byRate[r + ITEMS];
+            units += byRate[r + UNITS];
+        }
+        this.byRate = byRate;
+        this.gross = gross;
+        this.itemCount = items;
+        this.unitCount = units;
+    }
+
+    /**
+     * Returns a zero array of totals per tax rate to fill and pass to
+     * {@link #OrderValuation(long[])}.
+     * @return array of totals per tax rate
+     */
+    static long[] newTotals() {
+        return new long[FIELDS * taxRates.length];
+    }
+
+    /**
+     * Returns the position of totals of a tax rate, rates of articles
+     * without rate count as exempt.
+     */
+    static int offset(TAXRate rate) {
+        return (rate != null ? rate.ordinal() : TAXRate.Excempt.ordinal()) * FIELDS;
+    }
+
+    /**
+     * Value order in its own pricing category, the valuation is cached by
+     * the order, see {@link Order#valuation()}.
+     * @param order order to value
+     * @return valuation of order
+     * @throws IllegalArgumentException with null argument
+     */
+    public static OrderValuation of(Order order) {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        return order.valuation();
+    }
+
+    /**
+     * Value order in a pricing category, see {@link Order#valuation(PricingCategory)}.
+     * @param order order to value
+     * @param category pricing category, the category of each article when null
+     * @return valuation of order
+     * @throws IllegalArgumentException with null order
+     */
+    public static OrderValuation of(Order order, PricingCategory category) {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        return order.valuation(category);
+    }
+
+    /**
+     * Value order items in a pricing category.
+     * @param items order items to value
+     * @param category pricing category, the category of each article when null
+     * @return valuation of items
+     * @throws IllegalArgumentException with null items
+     */
+    public static OrderValuation of(Collection<Order.OrderItem> items, PricingCategory category) {
+        if (items == null)
+            throw new IllegalArgumentException("argument items: null");
+        final PricingIndex index = PricingIndex.getInstance();
+        final long[] byRate = newTotals();
+        for (Order.OrderItem item : items) {
+            final Article article = item.article();
+            final PricingCategory c = category != null ? category : article.getCategory();
+            final long value = index.unitPrice(c, article) * item.quantity();
+            final int r = offset(article.getTaxRate());
+            byRate[r + GROSS] += value;
+            byRate[r + VAT] += VATCalculator.includedVAT(value, index.vatBasisPoints(c, article));
+            byRate[r + ITEMS]++;
+            byRate[r + UNITS] += item.quantity();
+        }
+        return new OrderValuation(byRate);
+    }
+
+    /**
+     * Returns gross value (including VAT).
+     * @return gross value
+     */
+    public long gross() {
+        return gross;
+    }
+
+    /**
+     * Returns net value (gross value without VAT).
+     * @return net value
+     */
+    public long net() {
+        return gross - vat();
+    }
+
+    /**
+     * Returns VAT included in gross value.
+     * @return VAT of all tax rates
+     */
+    public long vat() {
+        long vat = 0L;
+        for (int r = 0; r < byRate.length; r += FIELDS) {
+            vat += byRate[r + VAT];
+        }
+        return vat;
+    }
+
+    /**
+     * Returns VAT included in gross value of items of a tax rate.
+     * @param rate tax rate
+     * @return VAT of items with tax rate
+     */
+    public long vat(TAXRate rate) {
+        return byRate[rate.ordinal() * FIELDS + VAT];
+    }
+
+    /**
+     * Returns gross value of items of a tax rate.
+     * @param rate tax rate
+     * @return gross value of items with tax rate
+     */
+    public long gross(TAXRate rate) {
+        return byRate[rate.ordinal() * FIELDS + GROSS];
+    }
+
+    /**
+     * Returns number of items (order lines) of a tax rate.
+     * @param rate tax rate
+     * @return number of items with tax rate
+     */
+    public int itemCount(TAXRate rate) {
+        return (int) byRate[rate.ordinal() * FIELDS + ITEMS];
+    }
+
+    /**
+     * Returns number of units ordered of items of a tax rate.
+     * @param rate tax rate
+     * @return number of units with tax rate
+     */
+    public long unitCount(TAXRate rate) {
+        return byRate[rate.ordinal() * FIELDS + UNITS];
+    }
+
+    /**
+     * Returns number of items (order lines).
+     * @return number of items
+     */
+    public int itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Returns number of units ordered (sum of item quantities).
+     * @return number of units
+     */
+    public long unitCount() {
+        return unitCount;
+    }
+}
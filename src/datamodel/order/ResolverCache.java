@@ -0,0 +1,79 @@
+package datamodel.order;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of a resolver of specifications, e.g. "Teller" or
+ * "Eric", to objects. Resolved objects are cached, specifications that do
+ * not resolve are not, such that objects created later are found. When
+ * the cache is full, the least recently used entry is evicted.
+ * <p>
+ * Class is thread-safe, the resolver is called outside the lock and may
+ * be called more than once for the same specification.
+ *
+ * @param <T> type of resolved objects
+ */
+final class ResolverCache<T> implements Function<String, Optional<T>> {
+
+    private final Function<String, Optional<T>> resolver;
+
+    /**
+     * Cached objects in access order, guarded by this.
+     */
+    private final Map<String, T> cache;
+
+    /**
+     * Create cache of a resolver.
+     * @param resolver resolver of specifications
+     * @param capacity maximum number of cached specifications
+     * @throws IllegalArgumentException with null resolver or capacity &lt; 1
+     */
+    ResolverCache(Function<String, Optional<T>> resolver, int capacity) {
+        if (resolver == null)
+            throw new IllegalArgumentException("argument resolver: null");
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity < 1");
+        this.resolver = resolver;
+        this.cache = new LinkedHashMap<>(Math.min(capacity, 64), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Resolve specification from the cache or by the resolver.
+     * @param spec specification to resolve
+     * @return resolved object or empty Optional
+     */
+    @Override
+    public Optional<T> apply(String spec) {
+        if (spec == null)
+            return Optional.empty();
+        synchronized (this) {
+            final T cached = cache.get(spec);
+            if (cached != null)
+                return Optional.of(cached);
+        }
+        final Optional<T> resolved = resolver.apply(spec);
+        if (resolved != null && resolved.isPresent()) {
+            synchronized (this) {
+                cache.put(spec, resolved.get());
+            }
+            return resolved;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the number of cached specifications.
+     * @return number of cached specifications
+     */
+    synchronized int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,284 @@
+package datamodel.order;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import datamodel.Customer;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+/**
+ * Running totals of revenue and VAT of orders as they arrive, aggregated
+ * by customer, by {@link PricingCategory}, by {@link TAXRate} and units by
+ * article SKU:
+ * <pre>
+ * RevenueAggregator revenue = new RevenueAggregator();
+ * revenue.subscribe();                 // totals of orders built from now on
+ * revenue.byCategory(PricingCategory.BasePricing).gross();
+ * RevenueAggregator.Snapshot s = revenue.snapshot();
+ * </pre>
+ * Orders are valued by their {@link Order#valuation()} outside any lock,
+ * each order costs one pass over its items, totals are read without
+ * iterating orders. Counters are {@link LongAdder}s such that concurrent
+ * order intake does not contend on shared counters. Orders without a
+ * pricing category are counted in all totals except by category.
+ * <p>
+ * Reads are consistent: an order is counted in all totals or in none.
+ * Intake adds an order's values under the shared mode of a lock, reads sum
+ * counters under its exclusive mode, such that a read waits for orders
+ * being added and briefly holds back intake while it sums. Subscribing
+ * more than once has no effect. Class is thread-safe.
+ */
+public final class RevenueAggregator implements Consumer<Order> {
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+
+    private static final TAXRate[] taxRates = TAXRate.values();
+
+    /**
+     * Gross value, VAT, units and number of orders.
+     *
+     * @param gross  gross value (including VAT)
+     * @param vat    VAT included in gross value
+     * @param units  number of units ordered
+     * @param orders number of orders
+     */
+    public record Totals(long gross, long vat, long units, long orders) {
+
+        /** Totals without orders. */
+        public static final Totals EMPTY = new Totals(0L, 0L, 0L, 0L);
+
+        /**
+         * Returns net value (gross value without VAT).
+         * @return net value
+         */
+        public long net() {
+            return gross - vat;
+        }
+    }
+
+    /**
+     * Totals of all counters, read one after another while orders arrive.
+     *
+     * @param total       totals of all orders
+     * @param byCustomer  totals by customer ID
+     * @param byCategory  totals by pricing category
+     * @param byTaxRate   totals by tax rate, orders count orders with items of rate
+     * @param unitsBySku  units ordered by article SKU
+     */
+    public record Snapshot(Totals total, Map<Long, Totals> byCustomer,
+            Map<PricingCategory, Totals> byCategory, Map<TAXRate, Totals> byTaxRate,
+            Map<String, Long> unitsBySku) { }
+
+    /**
+     * Striped counters of one aggregate.
+     */
+    private static final class Counters {
+        private final LongAdder gross = new LongAdder();
+        private final LongAdder vat = new LongAdder();
+        private final LongAdder units = new LongAdder();
+        private final LongAdder orders = new LongAdder();
+
+        void add(long gross, long vat, long units) {
+            this.gross.add(gross);
+            this.vat.add(vat);
+            this.units.add(units);
+            this.orders.increment();
+        }
+
+        Totals sum() {
+            return new Totals(gross.sum(), vat.sum(), units.sum(), orders.sum());
+        }
+    }
+
+    private final Counters total = new Counters();
+    private final Map<Long, Counters> byCustomer = new ConcurrentHashMap<>();
+    private final Counters[] byCategory = new Counters[categories.length];
+    private final Counters[] byTaxRate = new Counters[taxRates.length];
+    private final Map<String, LongAdder> unitsBySku = new ConcurrentHashMap<>();
+
+    /**
+     * Shared by intake adding an order, exclusive for reads of totals.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Create aggregator without totals.
+     */
+    public RevenueAggregator() {
+        for (int i = 0; i < byCategory.length; i++) {
+            byCategory[i] = new Counters();
+        }
+        for (int i = 0; i < byTaxRate.length; i++) {
+            byTaxRate[i] = new Counters();
+        }
+    }
+
+    /**
+     * Subscribe to the {@link OrderFeed} to aggregate newly built orders,
+     * subscribing again has no effect.
+     * @return this aggregator
+     */
+    public RevenueAggregator subscribe() {
+        OrderFeed.getInstance().subscribe(this);
+        return this;
+    }
+
+    /**
+     * Stop aggregating newly built orders, totals are kept.
+     */
+    public void unsubscribe() {
+        OrderFeed.getInstance().unsubscribe(this);
+    }
+
+    /**
+     * Add order to the totals, e.g. orders built before subscribing.
+     * @param order order to add
+     * @throws IllegalArgumentException with null order
+     */
+    @Override
+    public void accept(Order order) {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        final OrderValuation valuation = order.valuation();
+        final long stamp = lock.readLock();
+        try {
+            add(order, valuation);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Add valued order to all counters.
+     */
+    private void add(Order order, OrderValuation valuation) {
+        total.add(valuation.gross(), valuation.vat(), valuation.unitCount());
+        final Customer customer = order.getCustomer();
+        if (customer != null) {
+            byCustomer.computeIfAbsent(customer.getId(), k -> new Counters())
+                    .add(valuation.gross(), valuation.vat(), valuation.unitCount());
+        }
+        final PricingCategory category = order.getCategory();
+        if (category != null) {
+            byCategory[category.ordinal()].add(valuation.gross(), valuation.vat(), valuation.unitCount());
+        }
+        for (TAXRate rate : taxRates) {
+            if (valuation.itemCount(rate) > 0) {
+                byTaxRate[rate.ordinal()].add(valuation.gross(rate), valuation.vat(rate), valuation.unitCount(rate));
+            }
+        }
+        order.forEachItem((article, quantity) ->
+                unitsBySku.computeIfAbsent(article.getId(), k -> new LongAdder()).add(quantity));
+    }
+
+    /**
+     * Returns totals of all orders.
+     * @return totals
+     */
+    public Totals total() {
+        final long stamp = lock.writeLock();
+        try {
+            return total.sum();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns totals of orders of a customer.
+     * @param customerId customer ID
+     * @return totals of customer
+     */
+    public Totals byCustomer(long customerId) {
+        final Counters counters = byCustomer.get(customerId);
+        if (counters == null)
+            return Totals.EMPTY;
+        final long stamp = lock.writeLock();
+        try {
+            return counters.sum();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns totals of orders of a pricing category.
+     * @param category pricing category
+     * @return totals of category
+     * @throws IllegalArgumentException with null category
+     */
+    public Totals byCategory(PricingCategory category) {
+        if (category == null)
+            throw new IllegalArgumentException("argument category: null");
+        final long stamp = lock.writeLock();
+        try {
+            return byCategory[category.ordinal()].sum();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns totals of items of a tax rate.
+     * @param rate tax rate
+     * @return totals of tax rate
+     * @throws IllegalArgumentException with null rate
+     */
+    public Totals byTaxRate(TAXRate rate) {
+        if (rate == null)
+            throw new IllegalArgumentException("argument rate: null");
+        final long stamp = lock.writeLock();
+        try {
+            return byTaxRate[rate.ordinal()].sum();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns units ordered of an article.
+     * @param sku article SKU, e.g. "SKU-100001"
+     * @return units ordered
+     */
+    public long unitsBySku(String sku) {
+        final LongAdder units = sku != null ? unitsBySku.get(sku) : null;
+        return units != null ? units.sum() : 0L;
+    }
+
+    /**
+     * Read all totals at one moment, orders added meanwhile wait until all
+     * counters are read.
+     * @return snapshot of totals
+     */
+    public Snapshot snapshot() {
+        final Map<Long, Totals> customers = new HashMap<>();
+        final Map<PricingCategory, Totals> cats = new EnumMap<>(PricingCategory.class);
+        final Map<TAXRate, Totals> rates = new EnumMap<>(TAXRate.class);
+        final Map<String, Long> units = new HashMap<>();
+        final Totals all;
+        final long stamp = lock.writeLock();
+        try {
+            all = total.sum();
+            byCustomer.forEach((id, counters) -> customers.put(id, counters.sum()));
+            for (PricingCategory c : categories) {
+                cats.put(c, byCategory[c.ordinal()].sum());
+            }
+            for (TAXRate r : taxRates) {
+                rates.put(r, byTaxRate[r.ordinal()].sum());
+            }
+            unitsBySku.forEach((sku, adder) -> units.put(sku, adder.sum()));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new Snapshot(all, Collections.unmodifiableMap(customers),
+                Collections.unmodifiableMap(cats), Collections.unmodifiableMap(rates),
+                Collections.unmodifiableMap(units));
+    }
+}
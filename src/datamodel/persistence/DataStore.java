@@ -0,0 +1,202 @@
+package datamodel.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import datamodel.Article;
+import datamodel.ArticleCatalog;
+import datamodel.Customer;
+import datamodel.DataFactory;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+/**
+ * Persistence of customers, articles and orders in a directory of
+ * memory-mapped files without external database:
+ * <pre>
+ * customers.seg  - segment of customer records
+ * articles.seg   - segment of article records
+ * orders.log     - append-only log of orders, see {@link OrderLog}
+ * </pre>
+ * Records in segments have a fixed layout, strings are held in a heap after
+ * the records and are referenced by offsets:
+ * <pre>
+ * customer (24 bytes): long id, int lastName, int firstName,
+ *                      int first contact, int number of contacts
+ * article  (24 bytes): long SKU, long unitPrice, int description,
+ *                      byte category, byte taxRate, 2 bytes padding
+ * </pre>
+ * Loading maps the segments and restores objects through
+ * {@link DataFactory}, such that they are registered with their stored IDs
+ * in {@link datamodel.CustomerRegistry} and {@link ArticleCatalog}.
+ * Orders in the log are read in place.
+ * <p>
+ * Customers and articles are not served from the mapped segments: loading
+ * decodes every string and creates, validates and registers every object,
+ * which takes time linear in the number of objects. Only orders are views
+ * on the mapped file. See {@code DataStoreBenchmark} for load times.
+ */
+public final class DataStore {
+
+    static final int CUSTOMERS = 1;
+    static final int ARTICLES = 2;
+
+    private static final int CUSTOMER_RECORD = 24;
+    private static final int ARTICLE_RECORD = 24;
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+    private static final TAXRate[] taxRates = TAXRate.values();
+
+    /**
+     * Directory with segment and log files.
+     */
+    private final Path directory;
+
+    /**
+     * Customers and articles restored by {@link #load()}.
+     * @param customers restored customers
+     * @param articles restored articles
+     */
+    public record Restored(List<Customer> customers, List<Article> articles) { }
+
+    /**
+     * Create data store in a directory, the directory is created on first
+     * write.
+     * @param directory directory with segment and log files
+     * @throws IllegalArgumentException with null directory
+     */
+    public DataStore(Path directory) {
+        if (directory == null)
+            throw new IllegalArgumentException("argument directory: null");
+        this.directory = directory;
+    }
+
+    /**
+     * Test whether the store holds saved customers and articles.
+     * @return true if segment files exist
+     */
+    public boolean exists() {
+        return Files.exists(directory.resolve("customers.seg")) && Files.exists(directory.resolve("articles.seg"));
+    }
+
+    /**
+     * Save customers and articles into segment files, replacing the
+     * previous segments.
+     * @param customers customers to save
+     * @param articles articles to save
+     * @throws IOException when writing fails
+     * @throws IllegalArgumentException with null arguments
+     */
+    public void save(Collection<Customer> customers, Collection<Article> articles) throws IOException {
+        if (customers == null || articles == null)
+            throw new IllegalArgumentException("arguments: null");
+        Files.createDirectories(directory);
+        Segment.write(directory.resolve("customers.seg"), CUSTOMERS, customers.size(), encodeCustomers(customers));
+        Segment.write(directory.resolve("articles.seg"), ARTICLES, articles.size(), encodeArticles(articles));
+    }
+
+    /**
+     * Map segment files and restore customers and articles. Objects with IDs
+     * that already exist are skipped. All records are decoded and restored
+     * as objects, load time grows with the number of objects.
+     * @return restored customers and articles
+     * @throws IOException when reading fails or a segment is corrupt
+     */
+    public Restored load() throws IOException {
+        final DataFactory factory = DataFactory.getInstance();
+        final Segment cs = Segment.map(directory.resolve("customers.seg"), CUSTOMERS);
+        final ByteBuffer c = cs.payload();
+        final List<Customer> customers = new ArrayList<>(cs.count());
+        for (int i = 0, r = 0; i < cs.count(); i++, r += CUSTOMER_RECORD) {
+            final List<String> contacts = new ArrayList<>(c.getInt(r + 20));
+            for (int k = 0, off = c.getInt(r + 16); k < c.getInt(r + 20); k++) {
+                contacts.add(Segment.getString(c, off));
+                off += Integer.BYTES + c.getInt(off);
+            }
+            factory.restoreCustomer(c.getLong(r), Segment.getString(c, c.getInt(r + 8)),
+                    Segment.getString(c, c.getInt(r + 12)), contacts).ifPresent(customers::add);
+        }
+        final Segment as = Segment.map(directory.resolve("articles.seg"), ARTICLES);
+        final ByteBuffer a = as.payload();
+        final List<Article> articles = new ArrayList<>(as.count());
+        for (int i = 0, r = 0; i < as.count(); i++, r += ARTICLE_RECORD) {
+            final byte category = a.get(r + 20);
+            factory.restoreArticle("SKU-" + a.getLong(r), Segment.getString(a, a.getInt(r + 16)), a.getLong(r + 8),
+                    category >= 0 ? categories[category] : null, taxRates[a.get(r + 21)]).ifPresent(articles::add);
+        }
+        return new Restored(customers, articles);
+    }
+
+    /**
+     * Open the append-only order log of the store.
+     * @return order log
+     * @throws IOException when opening fails
+     */
+    public OrderLog openOrderLog() throws IOException {
+        Files.createDirectories(directory);
+        return OrderLog.open(directory.resolve("orders.log"));
+    }
+
+    private static ByteBuffer encodeCustomers(Collection<Customer> customers) {
+        final List<byte[][]> strings = new ArrayList<>(customers.size());
+        int heap = 0;
+        for (Customer customer : customers) {
+            final byte[][] s = new byte[2 + (int) customer.contactsCount()][];
+            s[0] = Segment.utf8(customer.getLastName());
+            s[1] = Segment.utf8(customer.getFirstName());
+            int k = 2;
+            for (String contact : customer.getContacts()) {
+                s[k++] = Segment.utf8(contact);
+            }
+            for (byte[] utf8 : s) {
+                heap += Segment.sizeOf(utf8);
+            }
+            strings.add(s);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(customers.size() * CUSTOMER_RECORD + heap);
+        buffer.position(customers.size() * CUSTOMER_RECORD);
+        int r = 0, i = 0;
+        for (Customer customer : customers) {
+            final byte[][] s = strings.get(i++);
+            buffer.putLong(r, customer.getId())
+                    .putInt(r + 8, Segment.putString(buffer, s[0]))
+                    .putInt(r + 12, Segment.putString(buffer, s[1]))
+                    .putInt(r + 16, buffer.position())
+                    .putInt(r + 20, s.length - 2);
+            for (int k = 2; k < s.length; k++) {
+                Segment.putString(buffer, s[k]);
+            }
+            r += CUSTOMER_RECORD;
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer encodeArticles(Collection<Article> articles) {
+        final List<byte[]> descriptions = new ArrayList<>(articles.size());
+        int heap = 0;
+        for (Article article : articles) {
+            if (ArticleCatalog.parseSku(article.getId()) < 0L)
+                throw new IllegalArgumentException("article without SKU: " + article.getId());
+            final byte[] utf8 = Segment.utf8(article.getDescription());
+            heap += Segment.sizeOf(utf8);
+            descriptions.add(utf8);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(articles.size() * ARTICLE_RECORD + heap);
+        buffer.position(articles.size() * ARTICLE_RECORD);
+        int r = 0, i = 0;
+        for (Article article : articles) {
+            buffer.putLong(r, ArticleCatalog.parseSku(article.getId()))
+                    .putLong(r + 8, article.getUnitPrice())
+                    .putInt(r + 16, Segment.putString(buffer, descriptions.get(i++)))
+                    .put(r + 20, (byte) (article.getCategory() != null ? article.getCategory().ordinal() : -1))
+                    .put(r + 21, (byte) (article.getTaxRate() != null ? article.getTaxRate() : TAXRate.Regular).ordinal());
+            r += ARTICLE_RECORD;
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,286 @@
+package datamodel.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+
+import datamodel.Article;
+import datamodel.ArticleCatalog;
+import datamodel.Customer;
+import datamodel.CustomerRegistry;
+import datamodel.Pricing.PricingCategory;
+import datamodel.order.Order;
+
+/**
+ * Append-only log of orders in a file. Each order is one record with a
+ * checksum:
+ * <pre>
+ * file header:  int magic "C4OL", int format version
+ * record:       int body length, int CRC32 of body, body
+ * body:         long order ID, long customer ID, byte category,
+ *               int number of items, items: long SKU, int quantity
+ * </pre>
+ * Opening the log scans record headers and checksums. A torn record at the
+ * end, e.g. from a crash during an append, is cut off. Orders are read in
+ * place from the mapped file through views, customers and articles are
+ * resolved by ID in {@link CustomerRegistry} and {@link ArticleCatalog},
+ * which must be loaded before, see {@link DataStore#load()}. The log holds
+ * no objects per order on the heap, valuations are cached only by the view
+ * they were requested from, see {@link Order#valuation()}.
+ * <p>
+ * Appends are synchronized, {@link #sync()} forces appended records to
+ * disk. Logs are limited to 2 GB.
+ */
+public final class OrderLog implements Closeable {
+
+    static final int MAGIC = 0x43344f4c;
+    static final int VERSION = 1;
+
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int BODY = 21;
+    private static final int ITEM = 12;
+
+    private static final PricingCategory[] categories = PricingCategory.values();
+
+    private final FileChannel channel;
+
+    /**
+     * Positions of records in the file.
+     */
+    private int[] offsets = new int[1024];
+
+    /**
+     * Number of records.
+     */
+    private int size;
+
+    /**
+     * End of last record.
+     */
+    private long end;
+
+    private OrderLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Open or create an order log.
+     * @param file log file
+     * @return order log positioned after the last complete record
+     * @throws IOException when reading fails or the file is not an order log
+     */
+    static OrderLog open(Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final OrderLog log = new OrderLog(channel);
+            log.recover();
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Scan records, cut off a torn record at the end.
+     */
+    private void recover() throws IOException {
+        final long length = channel.size();
+        if (length == 0L) {
+            write(ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION).flip(), 0L);
+            end = FILE_HEADER;
+            return;
+        }
+        if (length > Integer.MAX_VALUE)
+            throw new IOException("order log exceeds 2 GB");
+        final ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        if (length < FILE_HEADER || map.getInt(0) != MAGIC || map.getInt(4) != VERSION)
+            throw new IOException("not an order log");
+        final CRC32 crc = new CRC32();
+        int pos = FILE_HEADER;
+        while (pos + RECORD_HEADER <= length) {
+            final int body = map.getInt(pos);
+            if (body < BODY || pos + RECORD_HEADER + (long) body > length)
+                break; // torn record
+            crc.reset();
+            crc.update(map.slice(pos + RECORD_HEADER, body));
+            if ((int) crc.getValue() != map.getInt(pos + 4))
+                break; // record not completely written
+            addOffset(pos);
+            pos += RECORD_HEADER + body;
+        }
+        if (pos < length) {
+            channel.truncate(pos);
+        }
+        end = pos;
+    }
+
+    /**
+     * Append order to the log.
+     * @param order order to append
+     * @throws IOException when writing fails
+     * @throws IllegalArgumentException with null order or an order with
+     *         items without article or articles without SKU
+     */
+    public synchronized void append(Order order) throws IOException {
+        if (order == null)
+            throw new IllegalArgumentException("argument order: null");
+        final List<Order.OrderItem> items = order.getItems();
+        final int body = BODY + ITEM * items.size();
+        if (end + RECORD_HEADER + body > Integer.MAX_VALUE)
+            throw new IOException("order log exceeds 2 GB");
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + body).position(RECORD_HEADER);
+        buffer.putLong(order.getId())
+                .putLong(order.getCustomer() != null ? order.getCustomer().getId() : -1L)
+                .put((byte) (order.getCategory() != null ? order.getCategory().ordinal() : -1))
+                .putInt(items.size());
+        for (Order.OrderItem item : items) {
+            if (item.article() == null)
+                throw new IllegalArgumentException("item without article");
+            final long sku = ArticleCatalog.parseSku(item.article().getId());
+            if (sku < 0L)
+                throw new IllegalArgumentException("article without SKU: " + item.article().getId());
+            buffer.putLong(sku).putInt(item.quantity());
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.flip().position(RECORD_HEADER));
+        buffer.putInt(0, body).putInt(4, (int) crc.getValue()).position(0);
+        write(buffer, end);
+        addOffset((int) end);
+        end += RECORD_HEADER + body;
+    }
+
+    /**
+     * Returns the number of orders in the log.
+     * @return number of orders
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the orders in the log as views on the mapped file. Orders
+     * appended later are not included.
+     * @return orders in order of appends
+     * @throws IOException when mapping fails
+     */
+    public synchronized List<Order> orders() throws IOException {
+        final ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        final int[] positions = Arrays.copyOf(offsets, size);
+        return new Orders(map, positions);
+    }
+
+    /**
+     * Force appended records to disk.
+     * @throws IOException when writing fails
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void addOffset(int offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = offset;
+    }
+
+    /**
+     * Orders on a mapped log file.
+     */
+    private static final class Orders extends AbstractList<Order> implements RandomAccess {
+        private final ByteBuffer map;
+        private final int[] positions;
+
+        Orders(ByteBuffer map, int[] positions) {
+            this.map = map;
+            this.positions = positions;
+        }
+
+        @Override
+        public Order get(int i) {
+            return new MappedOrder(map, positions[i] + RECORD_HEADER);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+
+    /**
+     * View of an order record that reads the mapped file on access. Items
+     * of articles that are not in the {@link ArticleCatalog}, e.g. when the
+     * log is read before articles are restored, fail when accessed.
+     */
+    private static final class MappedOrder extends Order {
+        private final ByteBuffer map;
+        private final int body;
+
+        MappedOrder(ByteBuffer map, int body) {
+            super(0L, null, null, null);
+            this.map = map;
+            this.body = body;
+        }
+
+        @Override
+        public long getId() {
+            return map.getLong(body);
+        }
+
+        @Override
+        public Customer getCustomer() {
+            return CustomerRegistry.getInstance().findById(map.getLong(body + 8)).orElse(null);
+        }
+
+        @Override
+        public PricingCategory getCategory() {
+            final byte c = map.get(body + 16);
+            return c >= 0 ? categories[c] : null;
+        }
+
+        @Override
+        protected List<OrderItem> items() {
+            final int count = map.getInt(body + 17);
+            final ArticleCatalog catalog = ArticleCatalog.getInstance();
+            return new AbstractList<>() {
+                @Override
+                public OrderItem get(int item) {
+                    if (item < 0 || item >= count)
+                        throw new IndexOutOfBoundsException("item " + item);
+                    final int pos = body + BODY + item * ITEM;
+                    final long sku = map.getLong(pos);
+                    final Article article = catalog.findBySku(sku).orElseThrow(() ->
+                            new IllegalStateException("article SKU-" + sku + " of order " + getId() + " not in catalog"));
+                    return new OrderItem(article, map.getInt(pos + 8));
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package datamodel.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped file holding a payload of fixed-layout records behind a
+ * header with a checksum:
+ * <pre>
+ * offset  0: int   magic "C4DS"
+ *         4: int   format version
+ *         8: int   kind of records
+ *        12: int   number of records
+ *        16: long  payload length in bytes
+ *        24: long  CRC32 of payload
+ *        32: payload
+ * </pre>
+ * Segments are written to a temporary file that replaces the segment file
+ * when complete, such that a crash never leaves a partial segment. Mapped
+ * segments are read in place, the payload is not copied.
+ */
+final class Segment {
+
+    static final int MAGIC = 0x43344453;
+    static final int VERSION = 1;
+    static final int HEADER = 32;
+
+    /**
+     * Kind of records, number of records and read-only payload.
+     */
+    private final int kind;
+    private final int count;
+    private final ByteBuffer payload;
+
+    private Segment(int kind, int count, ByteBuffer payload) {
+        this.kind = kind;
+        this.count = count;
+        this.payload = payload;
+    }
+
+    /**
+     * Write segment file from a payload.
+     * @param file segment file, replaced when it exists
+     * @param kind kind of records
+     * @param count number of records
+     * @param payload payload from position to limit
+     * @throws IOException when writing fails
+     */
+    static void write(Path file, int kind, int count, ByteBuffer payload) throws IOException {
+        final CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        final int length = payload.remaining();
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + length);
+            map.putInt(MAGIC).putInt(VERSION).putInt(kind).putInt(count)
+                    .putLong(length).putLong(crc.getValue())
+                    .put(payload.duplicate());
+            map.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Map segment file and verify its header and checksum.
+     * @param file segment file
+     * @param kind expected kind of records
+     * @return mapped segment
+     * @throws IOException when reading fails or the file is not a valid
+     *         segment of the kind
+     */
+    static Segment map(Path file, int kind) throws IOException {
+        final ByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (map.capacity() < HEADER || map.getInt(0) != MAGIC || map.getInt(4) != VERSION)
+            throw new IOException(file + ": not a segment file");
+        if (map.getInt(8) != kind)
+            throw new IOException(file + ": segment of kind " + map.getInt(8) + ", expected " + kind);
+        final long length = map.getLong(16);
+        if (length != map.capacity() - HEADER)
+            throw new IOException(file + ": truncated segment");
+        final ByteBuffer payload = map.slice(HEADER, (int) length);
+        final CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != map.getLong(24))
+            throw new IOException(file + ": checksum mismatch");
+        return new Segment(kind, map.getInt(12), payload.asReadOnlyBuffer());
+    }
+
+    int kind() {
+        return kind;
+    }
+
+    int count() {
+        return count;
+    }
+
+    ByteBuffer payload() {
+        return payload;
+    }
+
+    /**
+     * Size of a string in the string heap: length and UTF-8 bytes.
+     */
+    static int sizeOf(byte[] utf8) {
+        return Integer.BYTES + utf8.length;
+    }
+
+    /**
+     * Encode string for the string heap, null is stored as empty string.
+     */
+    static byte[] utf8(String s) {
+        return s != null ? s.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    /**
+     * Append string to the string heap.
+     * @return offset of string
+     */
+    static int putString(ByteBuffer buffer, byte[] utf8) {
+        final int offset = buffer.position();
+        buffer.putInt(utf8.length).put(utf8);
+        return offset;
+    }
+
+    /**
+     * Read string from the string heap at an offset.
+     */
+    static String getString(ByteBuffer buffer, int offset) {
+        final int length = buffer.getInt(offset);
+        final byte[] utf8 = new byte[length];
+        buffer.get(offset + Integer.BYTES, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -1,16 +1,23 @@
 package datamodel;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of sequential IDs that can be shared by multiple
+ * threads. IDs are drawn from an {@link AtomicLong} such that concurrent
+ * callers never receive the same ID, batch imports can reserve blocks of
+ * consecutive IDs with {@link #nextBlock(int)}.
+ */
 public class sID {
-    private int id;
+    private final AtomicLong id;
 
     /**
-     * Creates a new sID with the specified prefix and starting ID.
-     * @param prefix the prefix for the ID
+     * Creates a new sID with the specified starting ID. The first ID returned
+     * is {@code startid + 1}.
      * @param startid the starting ID
      */
-
-    protected sID(int startid) {
-        this.id = startid;
+    protected sID(long startid) {
+        this.id = new AtomicLong(startid);
     }
     protected sID() {
         this(1);
@@ -18,26 +25,70 @@ public class sID {
     /**
      * Returns the next ID in the sequence.
      * @return the next ID
+     * @throws IllegalStateException when the ID range is exhausted
      */
-    public int next() {
-        add();
-        return id;
+    public long next() {
+        return add(1);
     }
+    /**
+     * Returns the next ID in the sequence with the specified prefix and the
+     * number padded to six digits, e.g. {@code "SKU-100001"}.
+     * @param prefix the prefix for the ID
+     * @return the next ID as String
+     * @throws IllegalStateException when the ID range is exhausted
+     */
     public String nextString(String prefix) {
-        add();
-        return String.format("%s%06d", prefix,id);
+        return format(prefix, add(1));
     }
     /**
-     * Returns the next ID in the sequence with the specified prefix.   
-     * @param prefix the prefix for the ID
+     * Returns the next ID in the sequence.
      * @return the next ID
+     * @throws IllegalStateException when the ID range is exhausted
+     */
+    public long nextLong() {
+        return add(1);
+    }
+    /**
+     * Reserves a block of {@code n} consecutive IDs, e.g. for batch imports.
+     * IDs of the block are {@code first ... first + n - 1}.
+     * @param n number of IDs to reserve
+     * @return first ID of the block
+     * @throws IllegalArgumentException when n is not positive
+     * @throws IllegalStateException when the ID range is exhausted
+     */
+    public long nextBlock(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException("argument n: " + n + ", must be positive");
+        return add(n) - n + 1;
+    }
+    /**
+     * Formats an ID with prefix and the number padded to six digits, e.g.
+     * for IDs from {@link #nextBlock(int)}.
+     * @param prefix the prefix for the ID
+     * @param id the ID
+     * @return formatted ID
+     */
+    public static String format(String prefix, long id) {
+        final String digits = Long.toString(id);
+        final StringBuilder sb = new StringBuilder(prefix.length() + Math.max(6, digits.length())).append(prefix);
+        for (int i = digits.length(); i < 6; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+    /**
+     * Advances the sequence such that the next ID is greater than a given ID,
+     * e.g. after restoring objects with stored IDs. IDs are never reset.
+     * @param id ID that must not be returned by the generator
      */
-    public Long nextLong() {
-        add();
-        return (long)id;
+    public void advanceTo(long id) {
+        this.id.accumulateAndGet(id, Math::max);
     }
-    private void add() {
-        id++;
+    private long add(int n) {
+        final long last = id.addAndGet(n);
+        if (last < n)   // counter wrapped past Long.MAX_VALUE
+            throw new IllegalStateException("ID range exhausted");
+        return last;
     }
 
 }
@@ -0,0 +1,96 @@
+package tests.application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import application.Application;
+import datamodel.Article;
+import datamodel.Customer;
+import datamodel.DataFactory;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+
+class Application_200_ParallelReport_Tests {
+    private static final Application app = new Application();
+    private static final List<Order> orders = new ArrayList<>();
+
+    static {
+        final DataFactory factory = DataFactory.getInstance();
+        final List<Customer> customers = List.of(
+            factory.createCustomer("Eric Meyer", "eric98@yahoo.com").get(),
+            factory.createCustomer("Schulz-Mueller, Tim", "tim2346@gmx.de").get());
+        final List<Article> articles = List.of(
+            factory.createArticle("Tasse", 299, PricingCategory.BasePricing).get(),
+            factory.createArticle("Buch 'UML'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get(),
+            factory.createArticle("Fahrradhelm", 16900, PricingCategory.BasePricing).get());
+        final PricingCategory[] categories = PricingCategory.values();
+        final Random random = new Random(7L);
+        for (int i = 0; i < 2500; i++) {
+            var builder = new OrderBuilder()
+                .withCustomer(customers.get(random.nextInt(customers.size())))
+                .withCategory(categories[random.nextInt(categories.length)]);
+            for (int items = 1 + random.nextInt(4); items > 0; items--) {
+                builder.addItem(articles.get(random.nextInt(articles.size())), 1 + random.nextInt(9));
+            }
+            orders.add(builder.build().get());
+        }
+    }
+
+    @Test
+    void test200_ParallelOutputIsIdentical() {
+        final String expected = app.printOrders(orders).toString();
+        assertEquals(expected, app.printOrders(orders, new StringBuilder(), 4, 100).toString());
+        assertEquals(expected, app.printOrders(orders, new StringBuilder(), 3, 7).toString());
+        assertEquals(expected, app.printOrders(orders, new StringBuilder(), 16, 1).toString());
+    }
+
+    @Test
+    void test201_SequentialFallback() {
+        final String expected = app.printOrders(orders).toString();
+        assertEquals(expected, app.printOrders(orders, new StringBuilder(), 1, 100).toString());
+        assertEquals(expected, app.printOrders(orders, new StringBuilder(), 8, orders.size()).toString());
+        assertEquals(app.printOrders(List.of()).toString(),
+            app.printOrders(List.of(), new StringBuilder(), 4, 10).toString());
+    }
+
+    @Test
+    void test210_IllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> app.printOrders(null, new StringBuilder(), 4, 10));
+        assertThrows(IllegalArgumentException.class, () -> app.printOrders(orders, null, 4, 10));
+        assertThrows(IllegalArgumentException.class, () -> app.printOrders(orders, new StringBuilder(), 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> app.printOrders(orders, new StringBuilder(), 4, 0));
+    }
+
+    @Test
+    void test210_ReducedRateMarkerAtSevenPercent() {
+        final DataFactory factory = DataFactory.getInstance();
+        final Customer customer = factory.createCustomer("Marker, Mona", "mona@marker.de").get();
+        final Article book = factory.createArticle("Markerbuch", 2990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        // '*' marks items taxed at 7%, the reduced German rate
+        final Order base = new OrderBuilder().withCustomer(customer).withCategory(PricingCategory.BasePricing)
+            .addItem(book, 1).build().get();
+        assertTrue(app.printOrders(List.of(base)).toString().contains("*"));
+        // reduced rates of other countries, e.g. 2.6% in Switzerland, are not marked
+        final Order swiss = new OrderBuilder().withCustomer(customer).withCategory(PricingCategory.SwissPricing)
+            .addItem(book, 1).build().get();
+        assertFalse(app.printOrders(List.of(swiss)).toString().contains("*"));
+    }
+
+    @Test
+    void test220_ItemsValuedInOrderCategory() {
+        for (Order order : orders) {
+            final List<Order.OrderItem> items = order.getItems();
+            assertEquals(app.calculateOrderValue(order), app.calculateOrderValue(items, order.getCategory()));
+            assertEquals(app.calculateOrderVAT(order), app.calculateOrderItemVAT(items, order.getCategory()));
+            assertEquals(app.calculateOrderValue(items, null), app.calculateOrderValue(items));
+            assertEquals(app.calculateOrderItemVAT(items, null), app.calculateOrderItemVAT(items));
+        }
+    }
+}
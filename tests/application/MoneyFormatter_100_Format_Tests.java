@@ -0,0 +1,71 @@
+package tests.application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.CharBuffer;
+import java.util.Locale;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import application.MoneyFormatter;
+import datamodel.Pricing;
+
+class MoneyFormatter_100_Format_Tests {
+
+    private static String fmt(long price, Pricing.Currency currency, int style) {
+        return MoneyFormatter.appendPrice(new StringBuilder(), price, currency, style).toString();
+    }
+
+    @Test
+    void test100_PriceStyles() {
+        assertEquals("4.99", fmt(499, Pricing.Currency.Euro, 0));
+        assertEquals("4.99 EUR", fmt(499, Pricing.Currency.Euro, 1));
+        assertEquals("4.99EUR", fmt(499, Pricing.Currency.Euro, 2));
+        assertEquals("4.99 €", fmt(499, Pricing.Currency.Euro, 3));
+        assertEquals("4.99€", fmt(499, Pricing.Currency.Euro, 4));
+        assertEquals("4.99 £", fmt(499, Pricing.Currency.BritishPound, 3));
+        assertEquals("4.99 CHF", fmt(499, Pricing.Currency.SwissFranc, 3));
+        assertEquals("4.99", fmt(499, Pricing.Currency.Euro, 9));
+        assertEquals("4.99 EUR", fmt(499, null, 1));
+    }
+
+    @Test
+    void test110_PriceGrouping() {
+        assertEquals("0.00", fmt(0, null, 0));
+        assertEquals("0.05", fmt(5, null, 0));
+        assertEquals("169.99", fmt(16999, null, 0));
+        assertEquals("1,699.99", fmt(169999, null, 0));
+        assertEquals("1,234,567.89", fmt(123456789, null, 0));
+        assertEquals("-1,234.56", fmt(-123456, null, 0));
+    }
+
+    @Test
+    void test120_DecimalSameAsStringFormat() {
+        final String[] fmts = { "%,d", "%,d.%01d", "%,d.%02d", "%,d.%03d" };
+        final long[] scale = { 1L, 10L, 100L, 1000L };
+        LongStream.of(0, 1, 9, 10, 999, 1000, 1001, 99999, 123456789, -1000, -123456789,
+                Long.MAX_VALUE, Long.MIN_VALUE).forEach(v -> {
+            for (int d = 0; d < fmts.length; d++) {
+                String expected = d == 0 ? String.format(Locale.US, fmts[d], v)
+                        : String.format(Locale.US, fmts[d], v / scale[d], Math.abs(v % scale[d]));
+                assertEquals(expected, MoneyFormatter.appendDecimal(new StringBuilder(), v, d, null).toString());
+            }
+        });
+    }
+
+    @Test
+    void test130_CharBuffer() {
+        CharBuffer cb = CharBuffer.allocate(32);
+        MoneyFormatter.appendPrice(cb, 1699900, Pricing.Currency.Euro, 1);
+        assertEquals("16,999.00 EUR", cb.flip().toString());
+    }
+
+    @Test
+    void test140_DecimalDigitsExceptionCases() {
+        assertThrows(IllegalArgumentException.class,
+            () -> MoneyFormatter.appendDecimal(new StringBuilder(), 1, 4, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> MoneyFormatter.appendDecimal(new StringBuilder(), 1, -1, null));
+    }
+}
@@ -0,0 +1,44 @@
+package tests.datamodel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+
+class DataFactory_100_ConcurrentId_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    @Test
+    void test100_ConcurrentCustomerIdsAreUnique() {
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 20_000).parallel()
+            .forEach(i -> factory.createCustomer("Eric Meyer", "eric98@yahoo.com")
+                .ifPresent(c -> assertTrue(ids.add(c.getId()), "duplicate id: " + c.getId())));
+        assertEquals(20_000, ids.size());
+    }
+
+    @Test
+    void test101_ConcurrentArticleIdsAreUnique() {
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 20_000).parallel()
+            .forEach(i -> factory.createArticle("Tasse", 299, Pricing.PricingCategory.BasePricing)
+                .ifPresent(a -> assertTrue(ids.add(a.getId()), "duplicate id: " + a.getId())));
+        assertEquals(20_000, ids.size());
+        ids.forEach(id -> assertTrue(id.matches("SKU-[0-9]{6,}"), id));
+    }
+
+    @Test
+    void test110_SequentialCustomerIds() {
+        List<Customer> customers = IntStream.range(0, 3)
+            .mapToObj(i -> factory.createCustomer("Anne Bayer", "anne24@yahoo.de").get())
+            .toList();
+        assertEquals(customers.get(0).getId() + 1, customers.get(1).getId());
+        assertEquals(customers.get(1).getId() + 1, customers.get(2).getId());
+    }
+}
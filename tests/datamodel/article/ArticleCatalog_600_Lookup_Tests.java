@@ -0,0 +1,88 @@
+package tests.datamodel.article;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import datamodel.*;
+
+class ArticleCatalog_600_Lookup_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+    private final ArticleCatalog catalog = ArticleCatalog.getInstance();
+
+    @Test
+    void test600_FindById() {
+        var article = factory.createArticle("Kaffeemühle", 3999, Pricing.PricingCategory.BasePricing).get();
+        assertSame(article, catalog.findById(article.getId()).get());
+        assertSame(article, catalog.findBySku(Long.parseLong(article.getId().substring(4))).get());
+    }
+
+    @Test
+    void test601_FindByIdNotFound() {
+        assertTrue(catalog.findById(null).isEmpty());
+        assertTrue(catalog.findById("SKU-").isEmpty());
+        assertTrue(catalog.findById("SKU-12x456").isEmpty());
+        assertTrue(catalog.findById("ART-100001").isEmpty());
+        assertTrue(catalog.findBySku(999_999_999L).isEmpty());
+    }
+
+    @Test
+    void test610_FindByDescription() {
+        var a1 = factory.createArticle("Espressotasse 'Roma'", 899, Pricing.PricingCategory.BasePricing).get();
+        var a2 = factory.createArticle("Espressokanne 'Roma'", 2999, Pricing.PricingCategory.BasePricing).get();
+        assertEquals(List.of(a1, a2), catalog.findByDescription("'Roma'"));
+        assertEquals(List.of(a2), catalog.findByDescription("Espressokanne"));
+        assertEquals(List.of(), catalog.findByDescription("Espressomaschine"));
+        assertEquals(List.of(), catalog.findByDescription(null));
+    }
+
+    @Test
+    void test611_FindByShortFragment() {
+        var a = factory.createArticle("Qz", 100, Pricing.PricingCategory.BasePricing).get();
+        assertTrue(catalog.findByDescription("Qz").contains(a));
+    }
+
+    @Test
+    void test620_FindBySpec() {
+        var a = factory.createArticle("Zuckerdose 'Lisboa'", 1299, Pricing.PricingCategory.BasePricing).get();
+        assertSame(a, catalog.find(a.getId()).get());
+        assertSame(a, catalog.find("Zuckerdose 'Lis").get());
+        assertTrue(catalog.find("Salzstreuer 'Lisboa'").isEmpty());
+        assertTrue(catalog.find(null).isEmpty());
+    }
+
+    @Test
+    void test630_ConcurrentRegistrationAndLookup() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<Article>>> created = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                created.add(executor.submit(() -> {
+                    final List<Article> list = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        var a = factory.createArticle("Katalogtest " + thread + "-" + i, 100 + i,
+                            Pricing.PricingCategory.BasePricing).get();
+                        // registered articles are visible at once
+                        assertSame(a, catalog.findById(a.getId()).get());
+                        list.add(a);
+                    }
+                    return list;
+                }));
+            }
+            for (Future<List<Article>> f : created) {
+                for (Article a : f.get()) {
+                    assertSame(a, catalog.findById(a.getId()).get());
+                }
+            }
+            assertEquals(2000, catalog.findByDescription("Katalogtest ").size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
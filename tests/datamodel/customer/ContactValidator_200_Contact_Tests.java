@@ -0,0 +1,80 @@
+package tests.datamodel.customer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.ContactValidator.Kind;
+
+class ContactValidator_200_Contact_Tests {
+
+    private static void assertContact(Kind kind, String canonical, String contact) {
+        var c = ContactValidator.parse(contact);
+        assertTrue(c.isPresent(), contact);
+        assertEquals(kind, c.get().kind(), contact);
+        assertEquals(canonical, c.get().canonical(), contact);
+    }
+
+    @Test
+    void test200_ValidEmails() {
+        assertContact(Kind.Email, "eric98@yahoo.com", "eric98@yahoo.com");
+        assertContact(Kind.Email, "eric98@yahoo.com", "  Eric98@Yahoo.COM ");
+        assertContact(Kind.Email, "tim.schulz-mueller+shop@mail.gmx.de", "Tim.Schulz-Mueller+shop@mail.gmx.de");
+    }
+
+    @Test
+    void test201_InvalidEmails() {
+        for (String email : new String[] { "locomandy<>gmx.de", "@gmx.de", "anne@", "anne@gmx", "anne@gmx.d",
+                "anne@@gmx.de", "anne@gmx..de", ".anne@gmx.de", "anne.@gmx.de", "anne@-gmx.de", "anne@gmx-.de",
+                "anne@gmx.de1", "an ne@gmx.de" }) {
+            assertFalse(ContactValidator.isValid(email), email);
+        }
+    }
+
+    @Test
+    void test210_ValidPhoneNumbers() {
+        assertContact(Kind.Phone, "+49303945642298", "(030) 3945-642298");
+        assertContact(Kind.Phone, "+49303945642298", "+49 30 3945-642298");
+        assertContact(Kind.Phone, "+49303945642298", "0049 30 3945/642298");
+        assertContact(Kind.Phone, "+4915292454", "+49 152-92454");
+        assertContact(Kind.Phone, "+49303481 23352".replace(" ", ""), "tel: (030) 3481-23352");
+        assertContact(Kind.Fax, "+493023451356", "fax: (030)23451356");
+        assertContact(Kind.Fax, "+493023451356", "FAX:030 2345 1356");
+    }
+
+    @Test
+    void test211_InvalidPhoneNumbers() {
+        for (String phone : new String[] { "", "   ", "12345", "030 12a4567", "+49 (30 123456", "49 30) 123456",
+                "030 + 123456", "++49 30 123456", "+49 1234 5678 9012 3456", "fax:" }) {
+            assertFalse(ContactValidator.isValid(phone), phone);
+        }
+        assertFalse(ContactValidator.isValid(null));
+    }
+
+    @Test
+    void test220_KeysDistinguishPhoneAndFax() {
+        assertEquals(ContactValidator.key("(030) 23451356"), ContactValidator.key("+49 30 2345-1356"));
+        assertNotEquals(ContactValidator.key("(030) 23451356"), ContactValidator.key("fax: (030) 23451356"));
+    }
+
+    @Test
+    void test230_CustomerDeduplicatesContacts() {
+        var c = new Customer(1L, "Eric Meyer", "eric98@yahoo.com")
+            .addContact("ERIC98@yahoo.com")
+            .addContact("(030) 3945-642298")
+            .addContact("+49 30 3945 642298")
+            .addContact("locomandy<>gmx.de");
+        assertEquals(2, c.contactsCount());
+        assertTrue(c.getContacts().contains("(030) 3945-642298"));
+    }
+
+    @Test
+    void test240_FactoryRejectsInvalidContact() {
+        final DataFactory factory = DataFactory.getInstance();
+        assertTrue(factory.createCustomer("Mandy Mondschein", "locomandy<>gmx.de").isEmpty());
+        var c = factory.createCustomer("Vera Validia", "vera@validia.de").get();
+        c.addContact("(089) 123-45678");
+        assertSame(c, CustomerRegistry.getInstance().findByContact("+49 89 12345678").get());
+    }
+}
@@ -0,0 +1,75 @@
+package tests.datamodel.customer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import datamodel.*;
+
+class CustomerRegistry_100_Lookup_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+    private final CustomerRegistry registry = CustomerRegistry.getInstance();
+
+    @Test
+    void test100_FindById() {
+        var c = factory.createCustomer("Gerda Grünwald", "gerda@web.de").get();
+        assertSame(c, registry.findById(c.getId()).get());
+        assertSame(c, registry.find(Long.toString(c.getId())).get());
+        assertTrue(registry.findById(-42L).isEmpty());
+    }
+
+    @Test
+    void test110_FindByNameIgnoresCase() {
+        var c1 = factory.createCustomer("Quirin Quast", "quirin@web.de").get();
+        var c2 = factory.createCustomer("Quast, Quentin", "quentin@web.de").get();
+        assertEquals(List.of(c1, c2), registry.findByName("QUAST"));
+        assertEquals(List.of(c1), registry.findByName("quirin"));
+        assertEquals(List.of(), registry.findByName("Quasimodo"));
+        assertEquals(List.of(), registry.findByName(null));
+    }
+
+    @Test
+    void test111_FindByNameSameLastAndFirstName() {
+        var c = factory.createCustomer("Thomas Thomas", "thomas@web.de").get();
+        assertEquals(1, registry.findByName("thomas").stream().filter(x -> x == c).count());
+    }
+
+    @Test
+    void test112_FindByWordOfFirstName() {
+        var c = factory.createCustomer("Wiesel, Anne-Marie Luise", "anne-marie@web.de").get();
+        assertEquals(List.of(c), registry.findByName("Luise"));
+        assertEquals(List.of(c), registry.findByName("anne-marie"));
+        assertEquals(List.of(c), registry.findByName("Anne-Marie Luise"));
+        assertSame(c, registry.find("Luise").get());
+        var d = factory.createCustomer("Wendel, Jan Jan", "jan@wendel.de").get();
+        assertEquals(List.of(d), registry.findByName("jan jan"));
+        assertEquals(1, registry.findByName("jan").stream().filter(x -> x == d).count());
+    }
+
+    @Test
+    void test120_FindBySpec() {
+        var c = factory.createCustomer("Xaver Xylander", "xaver@web.de").get();
+        assertSame(c, registry.find("Xylander").get());
+        assertSame(c, registry.find("xaver").get());
+        assertTrue(registry.find("Xylophon").isEmpty());
+        assertTrue(registry.find(null).isEmpty());
+    }
+
+    @Test
+    void test130_FindByContact() {
+        var c = factory.createCustomer("Yvonne Yilmaz", "yvonne@web.de").get();
+        assertSame(c, registry.findByContact("yvonne@web.de").get());
+        assertTrue(registry.findByContact("(030) 555-1234567").isEmpty());
+        c.addContact("(030) 555-1234567");
+        assertSame(c, registry.findByContact("(030) 555-1234567").get());
+    }
+
+    @Test
+    void test131_UnregisteredCustomerContactsNotIndexed() {
+        var c = new Customer(-7L, "Zora Zander", "zora@web.de");
+        c.addContact("zora@gmx.de");
+        assertTrue(registry.findByContact("zora@web.de").isEmpty());
+        assertTrue(registry.findByContact("zora@gmx.de").isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package tests.datamodel.customer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+
+class Customer_400_Contacts_Tests {
+
+    @Test
+    void test400_InsertionOrder() {
+        final Customer c = new Customer(400L, "Meyer, Eric", "eric98@yahoo.com");
+        c.addContact("(030) 3945-642298").addContact("fax: (030)23451356");
+        assertEquals(List.of("eric98@yahoo.com", "(030) 3945-642298", "fax: (030)23451356"),
+                List.copyOf(c.getContacts()));
+        assertEquals(3, c.contactsCount());
+    }
+
+    @Test
+    void test410_DuplicatesIgnored() {
+        final Customer c = new Customer(401L, "Meyer, Eric", " eric98@yahoo.com ");
+        c.addContact("Eric98@Yahoo.com").addContact("(030) 3945-642298").addContact("+49 30 3945-642298");
+        assertEquals(List.of("eric98@yahoo.com", "(030) 3945-642298"), List.copyOf(c.getContacts()));
+        assertTrue(c.getContacts().contains("(030) 3945-642298"));
+    }
+
+    @Test
+    void test420_ManyContacts() {
+        final Customer c = new Customer(402L, "Meyer, Eric", null);
+        assertEquals(0, c.contactsCount());
+        assertTrue(c.getContacts().isEmpty());
+        for (int i = 0; i < 20; i++) {
+            c.addContact("eric" + i + "@yahoo.com");
+            c.addContact("ERIC" + i + "@yahoo.com");
+        }
+        assertEquals(20, c.contactsCount());
+        int i = 0;
+        for (String contact : c.getContacts()) {
+            assertEquals("eric" + i++ + "@yahoo.com", contact);
+        }
+    }
+
+    @Test
+    void test430_ContactsUnmodifiable() {
+        final Customer c = new Customer(403L, "Meyer, Eric", "eric98@yahoo.com");
+        assertThrows(UnsupportedOperationException.class, () -> c.getContacts().add("anne24@yahoo.de"));
+        assertThrows(UnsupportedOperationException.class, () -> c.getContacts().clear());
+        assertEquals(1, c.contactsCount());
+    }
+
+    @Test
+    void test440_ContactsViewReflectsAddedContacts() {
+        final Customer c = new Customer(404L, "Meyer, Eric", "eric98@yahoo.com");
+        final var contacts = c.getContacts();
+        assertSame(contacts, c.getContacts());
+        final var it = contacts.iterator();
+        c.addContact("(030) 3945-642298").addContact("+49 1522-239-4400");
+        assertEquals(List.of("eric98@yahoo.com", "(030) 3945-642298", "+49 1522-239-4400"), List.copyOf(contacts));
+        assertEquals("eric98@yahoo.com", it.next());
+        assertFalse(it.hasNext());
+    }
+}
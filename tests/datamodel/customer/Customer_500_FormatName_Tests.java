@@ -0,0 +1,48 @@
+package tests.datamodel.customer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+
+class Customer_500_FormatName_Tests {
+
+    @Test
+    void test500_Styles() {
+        final Customer c = new Customer(500L, "Meyer, Eric", null);
+        final String[] expected = {
+            "Meyer, Eric", "Eric Meyer", "Meyer, E.", "E. Meyer", "Meyer", "Eric"
+        };
+        for (int style = 0; style < expected.length; style++) {
+            assertEquals(expected[style], c.formatName(style));
+            assertEquals(expected[style].toUpperCase(), c.formatName(style + 10));
+        }
+    }
+
+    @Test
+    void test510_WithoutFirstName() {
+        final Customer d = new Customer(501L, "Meyer,", null);
+        for (int style = 0; style < 6; style++) {
+            assertEquals("Meyer", d.formatName(style));
+        }
+        assertEquals("MEYER", d.formatName(13));
+    }
+
+    @Test
+    void test520_OtherStylesAsDefault() {
+        final Customer c = new Customer(503L, "Khaled Saad Mohamed Abdelalim", null);
+        assertEquals("Abdelalim, Khaled Saad Mohamed", c.formatName(0));
+        assertEquals("Abdelalim, Khaled Saad Mohamed", c.formatName(-1));
+        assertEquals("Abdelalim, Khaled Saad Mohamed", c.formatName(7));
+        assertEquals("Abdelalim, Khaled Saad Mohamed", c.formatName(16));
+        assertEquals("Abdelalim, Khaled Saad Mohamed", c.formatName(18));
+    }
+
+    @Test
+    void test530_Cached() {
+        final Customer c = new Customer(504L, "Eric Meyer", null);
+        assertSame(c.formatName(1), c.formatName(1));
+        assertSame(c.formatName(12), c.formatName(12));
+    }
+}
@@ -0,0 +1,68 @@
+package tests.datamodel.customer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+
+class NameParser_300_Name_Tests {
+
+    private static void assertName(String last, String first, String name) {
+        final long offsets = NameParser.parse(name);
+        assertEquals(last, NameParser.lastName(name, offsets), name);
+        assertEquals(first, NameParser.firstName(name, offsets), name);
+    }
+
+    @Test
+    void test300_LastCommaFirst() {
+        assertName("Meyer", "Eric", "Meyer, Eric");
+        assertName("Schulz-Mueller", "Tim", "Schulz-Mueller, Tim");
+        assertName("Blumenfeld", "Nadine-Ulla", "  Blumenfeld ,  Nadine-Ulla ");
+        assertName("Meyer", "", "Meyer,");
+        assertName("Meyer", "", "Meyer,   ");
+        assertName("", "Eric", ", Eric");
+    }
+
+    @Test
+    void test310_FirstMiddleLast() {
+        assertName("Meyer", "Eric", "Eric Meyer");
+        assertName("Abdelalim", "Khaled Saad Mohamed", "Khaled Saad Mohamed Abdelalim");
+        assertName("Meyer", "Eric", "  Eric   Meyer  ");
+        assertName("", "Eric", "Eric");
+        assertName("", "", "   ");
+    }
+
+    @Test
+    void test320_Particles() {
+        assertName("van Beethoven", "Ludwig", "Ludwig van Beethoven");
+        assertName("von der Heide", "Hans", "Hans von der Heide");
+        assertName("De Niro", "Robert", "Robert De Niro");
+        assertName("Niro", "De", "De Niro"); // first word is always a first name
+        assertName("von Goethe", "Johann Wolfgang", "Johann Wolfgang von Goethe");
+    }
+
+    @Test
+    void test330_OffsetsIntoName() {
+        final String name = "Khaled Saad Mohamed Abdelalim";
+        final long offsets = NameParser.parse(name);
+        assertEquals(0, NameParser.firstStart(offsets));
+        assertEquals(19, NameParser.firstEnd(offsets));
+        assertEquals(20, NameParser.lastStart(offsets));
+        assertEquals(29, NameParser.lastEnd(offsets));
+    }
+
+    @Test
+    void test340_IllegalNames() {
+        assertThrows(IllegalArgumentException.class, () -> NameParser.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> NameParser.parse("x".repeat(NameParser.MAX_LENGTH + 1)));
+        assertTrue(DataFactory.getInstance().createCustomer("x".repeat(NameParser.MAX_LENGTH + 1), null).isEmpty());
+    }
+
+    @Test
+    void test350_CustomerNames() {
+        var c = new Customer(1L, "Khaled Saad Mohamed Abdelalim", null);
+        assertEquals("Abdelalim", c.getLastName());
+        assertEquals("Khaled Saad Mohamed", c.getFirstName());
+    }
+}
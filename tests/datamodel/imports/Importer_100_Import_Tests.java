@@ -0,0 +1,145 @@
+package tests.datamodel.imports;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.imports.ImportReport;
+import datamodel.imports.Importer;
+import datamodel.order.Order;
+
+class Importer_100_Import_Tests {
+    private final Importer importer = new Importer(4, 3);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void test100_ImportCustomersCsv() throws IOException {
+        final Path file = Files.writeString(dir.resolve("customers.csv"), String.join("\r\n",
+            "name,contact,contact",
+            "\"Importeur, Ingo\",ingo@imp.de,(030) 444-1234",
+            "Irma Importia,irma@imp.de",
+            "# comment",
+            "",
+            ",nobody@imp.de",
+            "\"Inge \"\"Ini\"\" Importhaus\",inge@imp.de"));
+        final var customers = new ConcurrentLinkedQueue<Customer>();
+        final ImportReport report = importer.importCustomers(file, customers::add);
+        assertEquals(4, report.rows());
+        assertEquals(3, report.accepted());
+        assertEquals(1, report.rejected());
+        assertEquals(6, report.rejects().get(0).line());
+        var ingo = CustomerRegistry.getInstance().find("Importeur").get();
+        assertEquals("Ingo", ingo.getFirstName());
+        assertTrue(ingo.getContacts().contains("(030) 444-1234"));
+        assertTrue(customers.contains(ingo));
+    }
+
+    @Test
+    void test105_ImportCustomersWithoutContact() throws IOException {
+        final Path csv = Files.writeString(dir.resolve("nocontact.csv"), String.join("\n",
+            "name,contact",
+            "Karla Kontaktlos,",
+            "Kurt Kontaktfrei"));
+        ImportReport report = importer.importCustomers(csv, c -> { });
+        assertEquals(2, report.accepted());
+        assertEquals(0, CustomerRegistry.getInstance().find("Kontaktlos").get().contactsCount());
+        //
+        final Path jsonl = Files.writeString(dir.resolve("nocontact.jsonl"), String.join("\n",
+            "{\"name\": \"Jana Jsonlos\"}",
+            "{\"name\": \"Jens Jsonlos\", \"contacts\": []}"));
+        report = importer.importCustomers(jsonl, c -> { });
+        assertEquals(2, report.accepted());
+        assertEquals(0, report.rejected());
+        assertEquals(0, CustomerRegistry.getInstance().find("Jana").get().contactsCount());
+    }
+
+    @Test
+    void test110_ImportArticlesJsonLines() throws IOException {
+        final Path file = Files.writeString(dir.resolve("articles.jsonl"), String.join("\n",
+            "{\"description\": \"Importkanne\", \"unitPrice\": 2499}",
+            "{\"description\": \"Importbuch \\\"JSON\\\"\", \"unitPrice\": 3990, \"taxRate\": \"Reduced\"}",
+            "{\"description\": \"Importpreis\", \"unitPrice\": \"teuer\"}",
+            "{\"description\": \"Importfehler\""));
+        final var articles = new ConcurrentLinkedQueue<Article>();
+        final ImportReport report = importer.importArticles(file, articles::add);
+        assertEquals(4, report.rows());
+        assertEquals(2, report.accepted());
+        assertEquals(List.of(3L, 4L), report.rejects().stream().map(ImportReport.Reject::line).toList());
+        var buch = ArticleCatalog.getInstance().find("Importbuch \"JSON\"").get();
+        assertEquals(TAXRate.Reduced, buch.getTaxRate());
+        assertEquals(3990, buch.getUnitPrice());
+    }
+
+    @Test
+    void test120_ImportOrders() throws IOException {
+        final DataFactory factory = DataFactory.getInstance();
+        var c = factory.createCustomer("Olga Ordnerimport", "olga@imp.de").get();
+        var a = factory.createArticle("Ordnerimporttasse", 299, PricingCategory.BasePricing).get();
+        final Path csv = Files.writeString(dir.resolve("orders.csv"), String.join("\n",
+            "customer,category,article,quantity",
+            "Ordnerimport,SwissPricing,Ordnerimporttasse,4," + a.getId() + ",1",
+            "Ordnerimport,,Unbekannt,1",
+            "Niemand,,Ordnerimporttasse,1",
+            "Ordnerimport,,Ordnerimporttasse,0"));
+        final var orders = new ConcurrentLinkedQueue<Order>();
+        ImportReport report = importer.importOrders(csv, orders::add);
+        assertEquals(1, report.accepted());
+        assertEquals(3, report.rejected());
+        final Order o = orders.peek();
+        assertSame(c, o.getCustomer());
+        assertEquals(PricingCategory.SwissPricing, o.getCategory());
+        assertEquals(2, o.getItems().size());
+        //
+        final Path jsonl = Files.writeString(dir.resolve("orders.jsonl"),
+            "{\"customer\": \"Olga\", \"items\": [{\"article\": \"Ordnerimporttasse\", \"quantity\": 2},"
+            + " {\"article\": \"" + a.getId() + "\", \"quantity\": 3}]}\n");
+        orders.clear();
+        report = importer.importOrders(jsonl, orders::add);
+        assertEquals(1, report.accepted());
+        assertEquals(List.of(2, 3), orders.peek().getItems().stream().map(i -> i.quantity()).toList());
+        // keys missing in an item are empty for that item, not taken from the next item
+        final Path missing = Files.writeString(dir.resolve("missing.jsonl"), String.join("\n",
+            "{\"customer\": \"Olga\", \"items\": [{\"article\": \"Ordnerimporttasse\"},"
+                + " {\"article\": \"" + a.getId() + "\", \"quantity\": 3}]}",
+            "{\"customer\": \"Olga\", \"items\": [{\"quantity\": 5}, {\"article\": \"" + a.getId() + "\", \"quantity\": 1}]}",
+            "{\"customer\": \"Olga\", \"items\": [{}, {\"article\": \"" + a.getId() + "\", \"quantity\": 1}]}",
+            "{\"customer\": \"Olga\", \"items\": [{\"quantity\": 6, \"article\": \"" + a.getId() + "\"}]}"));
+        orders.clear();
+        report = importer.importOrders(missing, orders::add);
+        assertEquals(1, report.accepted());
+        assertEquals(3, report.rejected());
+        assertEquals(List.of(6), orders.peek().getItems().stream().map(i -> i.quantity()).toList());
+    }
+
+    @Test
+    void test130_LinesLongerThanBuffer() throws IOException {
+        final StringBuilder sb = new StringBuilder("name,contact\n");
+        for (int i = 0; i < 20000; i++) {
+            sb.append("Lena Langzeile").append(i).append(",lena").append(i).append("@imp.de\n");
+        }
+        sb.append("Lara Langzeile,").append("x".repeat(3 << 20)).append("@imp.de"); // no trailing newline
+        final Path file = Files.writeString(dir.resolve("long.csv"), sb);
+        final ImportReport report = new Importer(2, 1000).importCustomers(file, c -> { });
+        assertEquals(20001, report.rows());
+        assertEquals(20001, report.accepted());
+    }
+
+    @Test
+    void test140_IllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Importer(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new Importer(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> importer.importCustomers(null, c -> { }));
+    }
+}
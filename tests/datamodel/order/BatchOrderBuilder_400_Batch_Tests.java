@@ -0,0 +1,99 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.BatchOrderBuilder;
+import datamodel.order.Order;
+import datamodel.order.OrderIdGenerator;
+import datamodel.order.OrderStore;
+
+class BatchOrderBuilder_400_Batch_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    @Test
+    void test400_EmitIntoStore() {
+        var bert = factory.createCustomer("Bert Stapel", "bert.stapel@web.de").get();
+        var berta = factory.createCustomer("Berta Stapel", "berta.stapel@web.de").get();
+        var tasse = factory.createArticle("Stapeltasse", 299, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Stapel'", 4990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderStore store = new OrderStore(1, 1);
+        final BatchOrderBuilder batch = new BatchOrderBuilder(1, 1); // forces growth
+        batch.order(8592356245L, bert, PricingCategory.BasePricing).item(tasse, 4).item(buch, 1)
+            .order(berta, PricingCategory.SwissPricing, new Article[] {buch}, new int[] {2});
+        assertEquals(2, batch.size());
+        assertEquals(2, batch.emit(store));
+        assertEquals(0, batch.size());
+        assertEquals(0, batch.rejected().length);
+        assertEquals(2, store.size());
+        assertEquals(3, store.itemsCount());
+        final Order o = store.get(0);
+        assertEquals(8592356245L, o.getId());
+        assertSame(bert, o.getCustomer());
+        assertEquals(PricingCategory.BasePricing, o.getCategory());
+        assertEquals(new Order.OrderItem(tasse, 4), o.getItems().get(0));
+        assertEquals(new Order.OrderItem(buch, 1), o.getItems().get(1));
+        assertSame(berta, store.customer(1));
+        assertEquals(PricingCategory.SwissPricing, store.category(1));
+        assertTrue(OrderIdGenerator.isValid(store.orderId(1)));
+        assertEquals(2, store.quantity(1, 0));
+    }
+
+    @Test
+    void test410_InvalidOrdersRejected() {
+        var bert = factory.createCustomer("Bert Stapel", "bert.stapel@web.de").get();
+        var berta = factory.createCustomer("Berta Stapel", "berta.stapel@web.de").get();
+        var tasse = factory.createArticle("Stapeltasse", 299, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Stapel'", 4990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderStore store = new OrderStore();
+        final BatchOrderBuilder batch = new BatchOrderBuilder();
+        batch.order(bert, PricingCategory.BasePricing).item(tasse, 1)   // 0: valid
+            .order(null, PricingCategory.BasePricing).item(tasse, 1)    // 1: no customer
+            .order(berta, PricingCategory.BasePricing)                   // 2: no items
+            .order(berta, PricingCategory.BasePricing).item(buch, 0)     // 3: quantity 0
+            .order(berta, PricingCategory.BasePricing).item(null, 1)     // 4: no article
+            .order(berta, null).item(buch, 3);                           // 5: valid
+        assertEquals(2, batch.emit(store));
+        assertArrayEquals(new int[] {1, 2, 3, 4}, batch.rejected());
+        assertEquals(2, store.size());
+        assertSame(bert, store.customer(0));
+        assertSame(berta, store.customer(1));
+        assertNull(store.category(1));
+        assertEquals(3, store.quantity(1, 0));
+    }
+
+    @Test
+    void test420_ReusedAcrossBatches() {
+        var bert = factory.createCustomer("Bert Stapel", "bert.stapel@web.de").get();
+        var berta = factory.createCustomer("Berta Stapel", "berta.stapel@web.de").get();
+        var tasse = factory.createArticle("Stapeltasse", 299, PricingCategory.BasePricing).get();
+        final OrderStore store = new OrderStore();
+        final BatchOrderBuilder batch = BatchOrderBuilder.local();
+        assertSame(batch, BatchOrderBuilder.local());
+        for (int b = 0; b < 3; b++) {
+            for (int i = 0; i < 100; i++) {
+                batch.order(i % 2 == 0 ? bert : berta, PricingCategory.BasePricing).item(tasse, i + 1);
+            }
+            assertEquals(100, batch.emit(store));
+        }
+        assertEquals(300, store.size());
+        assertEquals(300, store.itemsCount());
+        assertEquals(100, store.quantity(299, 0));
+    }
+
+    @Test
+    void test430_IllegalArguments() {
+        var bert = factory.createCustomer("Bert Stapel", "bert.stapel@web.de").get();
+        var tasse = factory.createArticle("Stapeltasse", 299, PricingCategory.BasePricing).get();
+        final BatchOrderBuilder batch = new BatchOrderBuilder();
+        assertThrows(IllegalStateException.class, () -> batch.item(tasse, 1));
+        assertThrows(IllegalArgumentException.class, () -> batch.emit(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> batch.order(bert, null, new Article[] {tasse}, new int[] {1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> new BatchOrderBuilder(-1, 0));
+    }
+}
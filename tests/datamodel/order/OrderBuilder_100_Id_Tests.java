@@ -0,0 +1,61 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderIdGenerator;
+
+class OrderBuilder_100_Id_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+    private final Customer customer = factory.createCustomer("Eric Meyer", "eric98@yahoo.com").get();
+    private final Article article = factory.createArticle("Tasse", 299, Pricing.PricingCategory.BasePricing).get();
+
+    @Test
+    void test100_GeneratedIdHasTenDigits() {
+        var order = new OrderBuilder().withCustomer(customer).addItem(article).build().get();
+        assertTrue(order.getId() >= 1_000_000_000L && order.getId() <= 9_999_999_999L);
+    }
+
+    @Test
+    void test101_ExplicitIdIsKept() {
+        var order = new OrderBuilder().withId(8592356245L).withCustomer(customer).addItem(article).build().get();
+        assertEquals(8592356245L, order.getId());
+    }
+
+    @Test
+    void test102_InvalidExplicitIdIsReplaced() {
+        var order = new OrderBuilder().withId(1L).withCustomer(customer).addItem(article).build().get();
+        assertTrue(OrderIdGenerator.isValid(order.getId()));
+    }
+
+    @Test
+    void test103_ReusedBuilderGeneratesNewIds() {
+        var builder = new OrderBuilder().withCustomer(customer).addItem(article);
+        var first = builder.build().get();
+        var second = builder.build().get();
+        assertNotEquals(first.getId(), second.getId());
+        assertTrue(OrderIdGenerator.isValid(second.getId()));
+        //
+        builder.withId(8592356245L);
+        assertEquals(8592356245L, builder.build().get().getId());
+    }
+
+    @Test
+    void test110_IdsUniqueAcrossBuildersAndThreads() {
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 200_000).parallel()
+            .forEach(i -> assertTrue(ids.add(OrderIdGenerator.getInstance().next())));
+        IntStream.range(0, 10_000).parallel()
+            .forEach(i -> new OrderBuilder().withCustomer(customer).addItem(article).build()
+                .ifPresent(o -> assertTrue(ids.add(o.getId()), "duplicate id: " + o.getId())));
+        assertEquals(210_000, ids.size());
+        ids.forEach(id -> assertTrue(OrderIdGenerator.isValid(id)));
+    }
+}
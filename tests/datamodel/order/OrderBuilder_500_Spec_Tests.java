@@ -0,0 +1,98 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderIdGenerator;
+
+class OrderBuilder_500_Spec_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    private final AtomicInteger customerLookups = new AtomicInteger();
+    private final AtomicInteger articleLookups = new AtomicInteger();
+
+    /**
+     * Builder resolving "Sven" to a customer and "Specteller", "Buch 'Spec'"
+     * to articles, lookups are counted.
+     */
+    private OrderBuilder builder(Customer sven, Article teller, Article buch) {
+        return factory.createOrderBuilder(PricingCategory.SwissPricing,
+            spec -> {
+                customerLookups.incrementAndGet();
+                return spec.equals("Sven") ? Optional.of(sven) : Optional.empty();
+            },
+            spec -> {
+                articleLookups.incrementAndGet();
+                return spec.equals("Specteller") ? Optional.of(teller)
+                    : spec.equals("Buch 'Spec'") ? Optional.of(buch) : Optional.empty();
+            });
+    }
+
+    @Test
+    void test500_BuildOrder() {
+        var sven = factory.createCustomer("Sven Spec", "sven.spec@web.de").get();
+        var teller = factory.createArticle("Specteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spec'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderBuilder builder = builder(sven, teller, buch);
+        final Order order = builder.buildOrder("Sven", o -> o
+            .item(4, "Specteller")
+            .item(1, "Buch 'Spec'")
+        ).get();
+        assertSame(sven, order.getCustomer());
+        assertEquals(PricingCategory.SwissPricing, order.getCategory());
+        assertTrue(OrderIdGenerator.isValid(order.getId()));
+        assertEquals(2, order.getItems().size());
+        assertEquals(new Order.OrderItem(teller, 4), order.getItems().get(0));
+        assertEquals(new Order.OrderItem(buch, 1), order.getItems().get(1));
+    }
+
+    @Test
+    void test510_InvalidSpecs() {
+        var sven = factory.createCustomer("Sven Spec", "sven.spec@web.de").get();
+        var teller = factory.createArticle("Specteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spec'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderBuilder builder = builder(sven, teller, buch);
+        assertTrue(builder.buildOrder("Anne", o -> o.item(1, "Specteller")).isEmpty());
+        assertTrue(builder.buildOrder("Sven", o -> o.item(1, "Kanne")).isEmpty());
+        assertTrue(builder.buildOrder("Sven", o -> o.item(0, "Specteller")).isEmpty());
+        assertTrue(builder.buildOrder("Sven", o -> { }).isEmpty());
+        assertTrue(builder.buildOrder(null, o -> o.item(1, "Specteller")).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> builder.buildOrder("Sven", null));
+        assertThrows(IllegalStateException.class, () -> new OrderBuilder().buildOrder("Sven", o -> { }));
+        assertThrows(IllegalArgumentException.class,
+            () -> factory.createOrderBuilder(PricingCategory.BasePricing, null, spec -> Optional.empty()));
+    }
+
+    @Test
+    void test520_SpecsResolvedOnce() {
+        var sven = factory.createCustomer("Sven Spec", "sven.spec@web.de").get();
+        var teller = factory.createArticle("Specteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spec'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderBuilder builder = builder(sven, teller, buch);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(builder.buildOrder("Sven", o -> o.item(1, "Specteller").item(2, "Specteller").item(1, "Buch 'Spec'")).isPresent());
+        }
+        assertEquals(1, customerLookups.get());
+        assertEquals(2, articleLookups.get());
+    }
+
+    @Test
+    void test530_UnresolvedSpecsNotCached() {
+        var sven = factory.createCustomer("Sven Spec", "sven.spec@web.de").get();
+        var teller = factory.createArticle("Specteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spec'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderBuilder builder = builder(sven, teller, buch);
+        builder.buildOrder("Sven", o -> o.item(1, "Kanne"));
+        builder.buildOrder("Sven", o -> o.item(1, "Kanne"));
+        assertEquals(2, articleLookups.get());
+    }
+}
@@ -0,0 +1,98 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import application.Application;
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderStore;
+import datamodel.order.OrderValuation;
+
+class OrderStore_300_Columnar_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    /**
+     * Orders of two customers in all columns, the last with two items of
+     * the same article.
+     */
+    private List<Order> orders(Customer carl, Customer cora, Article tasse, Article buch) {
+        return List.of(
+            new OrderBuilder().withCustomer(carl).withCategory(PricingCategory.BasePricing)
+                .addItem(tasse, 4).addItem(buch, 1).build().get(),
+            new OrderBuilder().withCustomer(cora).withCategory(PricingCategory.SwissPricing)
+                .addItem(buch, 2).build().get(),
+            new OrderBuilder().withCustomer(carl).withCategory(PricingCategory.UKPricing)
+                .addItem(tasse, 1).addItem(tasse, 3).addItem(buch, 5).build().get());
+    }
+
+    @Test
+    void test300_ViewsMatchOrders() {
+        var carl = factory.createCustomer("Carl Spalte", "carl.spalte@web.de").get();
+        var cora = factory.createCustomer("Cora Spalte", "cora.spalte@web.de").get();
+        var tasse = factory.createArticle("Spaltentasse", 299, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spalten'", 4990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final List<Order> orders = orders(carl, cora, tasse, buch);
+        final OrderStore store = new OrderStore(1, 1); // forces growth
+        store.addAll(orders);
+        assertEquals(3, store.size());
+        assertEquals(6, store.itemsCount());
+        for (int i = 0; i < orders.size(); i++) {
+            final Order o = orders.get(i), v = store.get(i);
+            assertEquals(o.getId(), v.getId());
+            assertSame(o.getCustomer(), v.getCustomer());
+            assertEquals(o.getCategory(), v.getCategory());
+            assertEquals(o.getItems(), v.getItems());
+        }
+    }
+
+    @Test
+    void test310_ColumnAccess() {
+        var carl = factory.createCustomer("Carl Spalte", "carl.spalte@web.de").get();
+        var cora = factory.createCustomer("Cora Spalte", "cora.spalte@web.de").get();
+        var tasse = factory.createArticle("Spaltentasse", 299, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spalten'", 4990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final List<Order> orders = orders(carl, cora, tasse, buch);
+        final OrderStore store = new OrderStore();
+        store.addAll(orders);
+        assertEquals(orders.get(2).getId(), store.orderId(2));
+        assertSame(carl, store.customer(2));
+        assertEquals(PricingCategory.UKPricing, store.category(2));
+        assertEquals(3, store.itemCount(2));
+        assertSame(buch, store.article(2, 2));
+        assertEquals(5, store.quantity(2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.quantity(2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+    }
+
+    @Test
+    void test320_ValuationAndPrintingOnViews() {
+        var carl = factory.createCustomer("Carl Spalte", "carl.spalte@web.de").get();
+        var cora = factory.createCustomer("Cora Spalte", "cora.spalte@web.de").get();
+        var tasse = factory.createArticle("Spaltentasse", 299, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Spalten'", 4990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final List<Order> orders = orders(carl, cora, tasse, buch);
+        final OrderStore store = new OrderStore();
+        store.addAll(orders);
+        for (int i = 0; i < orders.size(); i++) {
+            var expected = OrderValuation.of(orders.get(i));
+            var actual = OrderValuation.of(store.get(i));
+            assertEquals(expected.gross(), actual.gross());
+            assertEquals(expected.vat(), actual.vat());
+        }
+        final Application app = new Application();
+        assertEquals(app.printOrders(new ArrayList<>(orders)).toString(), app.printOrders(store).toString());
+    }
+
+    @Test
+    void test330_NullOrder() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderStore().add(null));
+    }
+}
@@ -0,0 +1,68 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderValuation;
+
+class OrderValuation_200_SinglePass_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    @Test
+    void test200_OrderValueAndVAT() {
+        var valuation = OrderValuation.of(order());
+        assertEquals(12979, valuation.gross());
+        assertEquals(1318, valuation.vat());
+        assertEquals(12979 - 1318, valuation.net());
+    }
+
+    @Test
+    void test201_VATPerRate() {
+        var valuation = OrderValuation.of(order());
+        assertEquals(414 + 190 + 191, valuation.vat(TAXRate.Regular));
+        assertEquals(523, valuation.vat(TAXRate.Reduced));
+        assertEquals(0, valuation.vat(TAXRate.Excempt));
+    }
+
+    @Test
+    void test202_ItemAndUnitCount() {
+        var valuation = OrderValuation.of(order());
+        assertEquals(4, valuation.itemCount());
+        assertEquals(17, valuation.unitCount());
+    }
+
+    @Test
+    void test210_OtherPricingCategory() {
+        var valuation = OrderValuation.of(order(), PricingCategory.SwissPricing);
+        assertEquals(12979, valuation.gross());
+        // VAT at 8.1% and 2.6% (reduced)
+        assertEquals(VATCalculator.includedVAT(2596, 810) + VATCalculator.includedVAT(1192, 810)
+            + VATCalculator.includedVAT(7995, 260) + VATCalculator.includedVAT(1196, 810), valuation.vat());
+    }
+
+    /**
+     * Order with items of regular and reduced tax rate.
+     */
+    private Order order() {
+        var otto = factory.createCustomer("Otto Durchlauf", "otto.durchlauf@web.de").get();
+        var teller = factory.createArticle("Durchlaufteller", 649, PricingCategory.BasePricing).get();
+        var becher = factory.createArticle("Durchlaufbecher", 149, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Durchlauf'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        var tasse = factory.createArticle("Durchlauftasse", 299, PricingCategory.BasePricing).get();
+        return new OrderBuilder()
+            .withCustomer(otto).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 4).addItem(becher, 8).addItem(buch, 1).addItem(tasse, 4)
+            .build().get();
+    }
+
+    @Test
+    void test220_NullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> OrderValuation.of((Order) null));
+    }
+}
@@ -0,0 +1,76 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderStore;
+
+class Order_600_Items_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    @Test
+    void test600_ItemsSnapshotAtBuild() {
+        var ida = factory.createCustomer("Ida Item", "ida.item@web.de").get();
+        var tasse = factory.createArticle("Itemtasse", 299, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Items'", 4990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final OrderBuilder builder = new OrderBuilder().withCustomer(ida).withCategory(PricingCategory.BasePricing)
+            .addItem(tasse, 4);
+        final Order order = builder.build().get();
+        builder.addItem(buch, 1);
+        assertEquals(1, order.itemsCount());
+        assertEquals(2, builder.build().get().itemsCount());
+    }
+
+    @Test
+    void test610_ItemsUnmodifiable() {
+        var ida = factory.createCustomer("Ida Item", "ida.item@web.de").get();
+        var tasse = factory.createArticle("Itemtasse", 299, PricingCategory.BasePricing).get();
+        final Order order = new OrderBuilder().withCustomer(ida).addItem(tasse, 4).build().get();
+        assertThrows(UnsupportedOperationException.class, () -> order.getItems().add(new Order.OrderItem(tasse, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> order.getItems().clear());
+        assertSame(order.getItems(), order.getItems());
+    }
+
+    @Test
+    void test620_ItemAccess() {
+        var ida = factory.createCustomer("Ida Item", "ida.item@web.de").get();
+        var kanne = factory.createArticle("Itemkanne", 1999, PricingCategory.BasePricing).get();
+        var heft = factory.createArticle("Itemheft", 149, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final Order order = new OrderBuilder().withCustomer(ida).withCategory(PricingCategory.SwissPricing)
+            .addItem(kanne, 4).addItem(heft, 1).build().get();
+        assertEquals(2, order.itemsCount());
+        assertEquals(new Order.OrderItem(kanne, 4), order.getItem(0));
+        assertEquals(new Order.OrderItem(heft, 1), order.getItem(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> order.getItem(2));
+        final List<Order.OrderItem> items = new ArrayList<>();
+        order.getOrderItems().forEach(items::add);
+        assertEquals(order.getItems(), items);
+        assertSame(PricingCategory.SwissPricing.pricing(), order.getPricing());
+    }
+
+    @Test
+    void test630_ForEachItem() {
+        var ida = factory.createCustomer("Ida Item", "ida.item@web.de").get();
+        var teller = factory.createArticle("Itemteller", 649, PricingCategory.BasePricing).get();
+        var becher = factory.createArticle("Itembecher", 149, PricingCategory.BasePricing).get();
+        final Order order = new OrderBuilder().withCustomer(ida).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 4).addItem(becher, 2).addItem(teller, 1).build().get();
+        final OrderStore store = new OrderStore();
+        store.add(order);
+        for (Order o : List.of(order, store.get(0))) {
+            final List<Order.OrderItem> items = new ArrayList<>();
+            o.forEachItem((article, quantity) -> items.add(new Order.OrderItem(article, quantity)));
+            assertEquals(order.getItems(), items);
+            assertEquals(3, o.itemsCount());
+        }
+    }
+}
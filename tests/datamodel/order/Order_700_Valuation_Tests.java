@@ -0,0 +1,105 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.BatchOrderBuilder;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderStore;
+import datamodel.order.OrderValuation;
+
+class Order_700_Valuation_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    @Test
+    void test700_ValuationCached() {
+        var vera = factory.createCustomer("Vera Wert", "vera.wert@web.de").get();
+        var teller = factory.createArticle("Wertteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Werte'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final Order order = new OrderBuilder().withCustomer(vera).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 4).addItem(buch, 1).build().get();
+        final OrderValuation v = order.valuation();
+        assertSame(v, order.valuation());
+        assertSame(v, order.valuation(PricingCategory.BasePricing));
+        assertSame(v, OrderValuation.of(order));
+        assertEquals(2596 + 7995, v.gross());
+        assertEquals(414, v.vat(TAXRate.Regular));
+        assertEquals(523, v.vat(TAXRate.Reduced));
+        assertEquals(v.gross() - 414 - 523, v.net());
+        assertEquals(2, v.itemCount());
+        assertEquals(5, v.unitCount());
+    }
+
+    @Test
+    void test710_ValuationPerCategory() {
+        var vera = factory.createCustomer("Vera Wert", "vera.wert@web.de").get();
+        var teller = factory.createArticle("Wertteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Werte'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final Order order = new OrderBuilder().withCustomer(vera).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 4).addItem(buch, 1).build().get();
+        // each category is valued once and cached
+        final OrderValuation swiss = order.valuation(PricingCategory.SwissPricing);
+        assertSame(swiss, order.valuation(PricingCategory.SwissPricing));
+        assertSame(order.valuation(null), order.valuation(null));
+        assertNotSame(swiss, order.valuation(PricingCategory.UKPricing));
+        // same prices, VAT at 8.1% and 2.6% (reduced)
+        assertEquals(2596 + 7995, swiss.gross());
+        assertEquals(VATCalculator.includedVAT(2596, 810) + VATCalculator.includedVAT(7995, 260), swiss.vat());
+        assertEquals(OrderValuation.of(order.getItems(), null).gross(), order.valuation(null).gross());
+    }
+
+    @Test
+    void test720_ValuationConcurrent() {
+        var vera = factory.createCustomer("Vera Wert", "vera.wert@web.de").get();
+        var teller = factory.createArticle("Wertteller", 649, PricingCategory.BasePricing).get();
+        final Order o = new OrderBuilder().withCustomer(vera).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 2).build().get();
+        final Set<Long> values = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 10_000).parallel().forEach(i -> values.add(o.valuation().gross()));
+        assertEquals(Set.of(1298L), values);
+    }
+
+    @Test
+    void test730_ValuationCachedByStore() {
+        var vera = factory.createCustomer("Vera Wert", "vera.wert@web.de").get();
+        var teller = factory.createArticle("Wertteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Werte'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final Order order = new OrderBuilder().withCustomer(vera).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 4).addItem(buch, 1).build().get();
+        final OrderStore cached = new OrderStore(1, 1, true); // value column grows with the store
+        final OrderStore plain = new OrderStore(1, 1);
+        for (int i = 0; i < 100; i++) {
+            cached.add(order);
+            plain.add(order);
+        }
+        new BatchOrderBuilder().order(vera, PricingCategory.SwissPricing).item(buch, 2).emit(cached);
+        final OrderValuation swiss = OrderValuation.of(List.of(new Order.OrderItem(buch, 2)), PricingCategory.SwissPricing);
+        assertSameValues(order.valuation(), cached.get(99).valuation());
+        assertSameValues(swiss, cached.get(100).valuation());
+        assertNotSame(cached.get(99).valuation(), cached.get(99).valuation());
+        assertEquals(order.valuation().vat(), plain.get(99).valuation().vat());
+    }
+
+    private static void assertSameValues(OrderValuation expected, OrderValuation actual) {
+        assertEquals(expected.gross(), actual.gross());
+        assertEquals(expected.vat(), actual.vat());
+        assertEquals(expected.itemCount(), actual.itemCount());
+        assertEquals(expected.unitCount(), actual.unitCount());
+        for (TAXRate rate : TAXRate.values()) {
+            assertEquals(expected.gross(rate), actual.gross(rate));
+            assertEquals(expected.vat(rate), actual.vat(rate));
+            assertEquals(expected.itemCount(rate), actual.itemCount(rate));
+            assertEquals(expected.unitCount(rate), actual.unitCount(rate));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package tests.datamodel.order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.BatchOrderBuilder;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.order.OrderFeed;
+import datamodel.order.OrderStore;
+import datamodel.order.RevenueAggregator;
+
+class RevenueAggregator_800_Totals_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    private final RevenueAggregator revenue = new RevenueAggregator().subscribe();
+
+    @AfterEach
+    void unsubscribe() {
+        revenue.unsubscribe();
+    }
+
+    @Test
+    void test800_TotalsOfBuiltOrders() {
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var robert = factory.createCustomer("Robert Umsatz", "robert.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Umsatz'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        new OrderBuilder().withCustomer(rita).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 4).addItem(buch, 1).build();
+        new OrderBuilder().withCustomer(robert).withCategory(PricingCategory.SwissPricing)
+            .addItem(teller, 2).build();
+        final RevenueAggregator.Totals total = revenue.total();
+        assertEquals(2596 + 7995 + 1298, total.gross());
+        assertEquals(414 + 523 + VATCalculator.includedVAT(1298, 810), total.vat());
+        assertEquals(7, total.units());
+        assertEquals(2, total.orders());
+        assertEquals(new RevenueAggregator.Totals(2596 + 7995, 414 + 523, 5, 1), revenue.byCustomer(rita.getId()));
+        assertEquals(new RevenueAggregator.Totals(2596 + 7995, 414 + 523, 5, 1),
+            revenue.byCategory(PricingCategory.BasePricing));
+        assertEquals(new RevenueAggregator.Totals(7995, 523, 1, 1), revenue.byTaxRate(TAXRate.Reduced));
+        assertEquals(2, revenue.byTaxRate(TAXRate.Regular).orders());
+        assertEquals(6, revenue.unitsBySku(teller.getId()));
+        assertEquals(1, revenue.unitsBySku(buch.getId()));
+        assertEquals(RevenueAggregator.Totals.EMPTY, revenue.byCustomer(-1L));
+    }
+
+    @Test
+    void test810_OrdersBeforeSubscribeAndAfterUnsubscribe() {
+        revenue.unsubscribe();
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        final Order order = new OrderBuilder().withCustomer(rita).withCategory(PricingCategory.BasePricing)
+            .addItem(teller, 1).build().get();
+        assertEquals(0, revenue.total().orders());
+        revenue.accept(order);
+        assertEquals(649, revenue.total().gross());
+    }
+
+    @Test
+    void test820_BatchAndSpecOrders() {
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var robert = factory.createCustomer("Robert Umsatz", "robert.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Umsatz'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final BatchOrderBuilder batch = new BatchOrderBuilder();
+        batch.order(rita, PricingCategory.BasePricing).item(teller, 1)
+            .order(null, PricingCategory.BasePricing).item(teller, 1); // rejected
+        batch.emit(new OrderStore());
+        factory.createOrderBuilder(PricingCategory.BasePricing, s -> java.util.Optional.of(robert),
+            s -> java.util.Optional.of(buch)).buildOrder("Robert", o -> o.item(2, "Buch"));
+        assertEquals(2, revenue.total().orders());
+        assertEquals(649 + 2 * 7995, revenue.total().gross());
+        assertEquals(1, revenue.byCustomer(robert.getId()).orders());
+    }
+
+    @Test
+    void test830_ConcurrentIntakeAndSnapshot() {
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var robert = factory.createCustomer("Robert Umsatz", "robert.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            new OrderBuilder().withCustomer(i % 2 == 0 ? rita : robert).withCategory(PricingCategory.BasePricing)
+                .addItem(teller, 1).build();
+            revenue.snapshot();
+        });
+        final RevenueAggregator.Snapshot snapshot = revenue.snapshot();
+        assertEquals(new RevenueAggregator.Totals(649000, 1000 * 104, 1000, 1000), snapshot.total());
+        assertEquals(500, snapshot.byCustomer().get(rita.getId()).orders());
+        assertEquals(1000, snapshot.unitsBySku().get(teller.getId()));
+        assertEquals(RevenueAggregator.Totals.EMPTY, snapshot.byCategory().get(PricingCategory.UKPricing));
+    }
+
+    @Test
+    void test840_FailingSubscriberContained() {
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        final OrderFeed feed = OrderFeed.getInstance();
+        final Consumer<Order> failing = o -> { throw new IllegalStateException("subscriber failed"); };
+        feed.subscribe(failing);
+        try {
+            final long failures = feed.failures();
+            final Optional<Order> order = new OrderBuilder().withCustomer(rita)
+                .withCategory(PricingCategory.BasePricing).addItem(teller, 1).build();
+            assertTrue(order.isPresent());
+            assertEquals(failures + 1, feed.failures());
+            assertEquals(1, revenue.total().orders()); // other subscribers are called
+        } finally {
+            feed.unsubscribe(failing);
+        }
+    }
+
+    @Test
+    void test850_UnpricedOrderDoesNotFailBuild() {
+        // neither order nor article have a pricing category, order cannot be valued
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        final Article unpriced = factory.createArticle("Preislos", 100, null).get();
+        final long failures = OrderFeed.getInstance().failures();
+        final Optional<Order> order = new OrderBuilder().withCustomer(rita).addItem(unpriced, 1).build();
+        assertTrue(order.isPresent());
+        assertEquals(failures + 1, OrderFeed.getInstance().failures());
+        assertEquals(RevenueAggregator.Totals.EMPTY, revenue.total());
+    }
+
+    @Test
+    void test860_OrderWithoutCategory() {
+        var robert = factory.createCustomer("Robert Umsatz", "robert.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Umsatz'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final Order order = new OrderBuilder().withCustomer(robert).addItem(teller, 2).addItem(buch, 1).build().get();
+        assertEquals(order.valuation().gross(), revenue.total().gross());
+        assertEquals(2 * 649 + 7995, revenue.byCustomer(robert.getId()).gross());
+        assertEquals(new RevenueAggregator.Totals(7995, 523, 1, 1), revenue.byTaxRate(TAXRate.Reduced));
+        for (PricingCategory c : PricingCategory.values()) {
+            assertEquals(RevenueAggregator.Totals.EMPTY, revenue.byCategory(c));
+        }
+    }
+
+    @Test
+    void test870_SubscribeTwiceCountsOnce() {
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        assertSame(revenue, revenue.subscribe());
+        new OrderBuilder().withCustomer(rita).withCategory(PricingCategory.BasePricing).addItem(teller, 1).build();
+        assertEquals(new RevenueAggregator.Totals(649, 104, 1, 1), revenue.total());
+        revenue.unsubscribe();
+        new OrderBuilder().withCustomer(rita).withCategory(PricingCategory.BasePricing).addItem(teller, 1).build();
+        assertEquals(1, revenue.total().orders());
+    }
+
+    @Test
+    void test880_SnapshotsConsistentDuringIntake() {
+        var rita = factory.createCustomer("Rita Umsatz", "rita.umsatz@web.de").get();
+        var robert = factory.createCustomer("Robert Umsatz", "robert.umsatz@web.de").get();
+        var teller = factory.createArticle("Umsatzteller", 649, PricingCategory.BasePricing).get();
+        var buch = factory.createArticle("Buch 'Umsatz'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        IntStream.range(0, 2000).parallel().forEach(i -> {
+            if (i % 10 == 0) {
+                // each order adds 649 + 7995 gross, 104 + 523 VAT, one order of each rate
+                final RevenueAggregator.Snapshot s = revenue.snapshot();
+                final long orders = s.total().orders();
+                assertEquals(new RevenueAggregator.Totals(orders * 8644, orders * 627, orders * 2, orders), s.total());
+                assertEquals(orders, s.byTaxRate().get(TAXRate.Reduced).orders());
+                final long byCustomer = s.byCustomer().values().stream().mapToLong(RevenueAggregator.Totals::gross).sum();
+                assertEquals(s.total().gross(), byCustomer);
+                assertEquals(s.total().gross(), s.byCategory().get(PricingCategory.BasePricing).gross());
+            } else {
+                new OrderBuilder().withCustomer(i % 2 == 0 ? rita : robert).withCategory(PricingCategory.BasePricing)
+                    .addItem(teller, 1).addItem(buch, 1).build();
+            }
+        });
+        assertEquals(1800, revenue.snapshot().total().orders());
+    }
+}
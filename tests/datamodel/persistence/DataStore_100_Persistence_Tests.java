@@ -0,0 +1,210 @@
+package tests.datamodel.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+import datamodel.order.Order;
+import datamodel.order.OrderBuilder;
+import datamodel.persistence.DataStore;
+import datamodel.persistence.OrderLog;
+
+class DataStore_100_Persistence_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void test100_RestoreCustomers() throws IOException {
+        final long id = 7_000_000_000L + System.nanoTime() % 1_000_000L;
+        var c = new Customer(id, "Persistenz, Paula", "paula@web.de").addContact("(030) 123-456789");
+        final DataStore store = new DataStore(dir);
+        assertFalse(store.exists());
+        store.save(List.of(c), List.of());
+        assertTrue(store.exists());
+        var restored = store.load();
+        assertEquals(1, restored.customers().size());
+        var r = restored.customers().get(0);
+        assertEquals(id, r.getId());
+        assertEquals("Persistenz", r.getLastName());
+        assertEquals("Paula", r.getFirstName());
+        assertEquals(Set.of("paula@web.de", "(030) 123-456789"), Set.copyOf(r.getContacts()));
+        assertSame(r, CustomerRegistry.getInstance().findById(id).get());
+        // existing IDs are not restored twice
+        assertTrue(store.load().customers().isEmpty());
+    }
+
+    @Test
+    void test110_ExistingArticlesAreSkipped() throws IOException {
+        var a = factory.createArticle("Persistenztasse", 499, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final DataStore store = new DataStore(dir);
+        store.save(List.of(), List.of(a));
+        assertTrue(store.load().articles().isEmpty());
+        assertSame(a, ArticleCatalog.getInstance().findById(a.getId()).get());
+    }
+
+    @Test
+    void test115_RestoredSkuOutOfRangeRejected() {
+        final int indexed = PricingIndex.getInstance().size();
+        for (String sku : List.of("SKU-200000000", "SKU-1000000", "SKU-9223372036854775807", "SKU-100000")) {
+            assertTrue(factory.restoreArticle(sku, "Fernartikel", 100, PricingCategory.BasePricing,
+                TAXRate.Regular).isEmpty(), sku);
+        }
+        assertEquals(indexed, PricingIndex.getInstance().size());
+    }
+
+    @Test
+    void test116_ConcurrentRestoresOfSameId() {
+        final long id = 8_000_000_000L + System.nanoTime() % 1_000_000L;
+        final long sku = ArticleCatalog.parseSku(
+            factory.createArticle("Parallelbecher", 149, PricingCategory.BasePricing).get().getId()) + 1000;
+        final var customers = IntStream.range(0, 64).parallel()
+            .mapToObj(i -> factory.restoreCustomer(id, "Parallel", "Pia", List.of("pia@parallel.de")))
+            .flatMap(Optional::stream).toList();
+        final var articles = IntStream.range(0, 64).parallel()
+            .mapToObj(i -> factory.restoreArticle("SKU-" + sku, "Parallelkanne", 1999 + i,
+                PricingCategory.BasePricing, TAXRate.Regular))
+            .flatMap(Optional::stream).toList();
+        assertEquals(1, customers.size());
+        assertSame(customers.get(0), CustomerRegistry.getInstance().findById(id).get());
+        assertEquals(1, articles.size());
+        final Article a = articles.get(0);
+        assertSame(a, ArticleCatalog.getInstance().findBySku(sku).get());
+        assertEquals(a.getUnitPrice(), PricingIndex.getInstance().unitPrice(PricingCategory.BasePricing, a));
+    }
+
+    @Test
+    void test120_CorruptSegmentDetected() throws IOException {
+        var c = new Customer(6_000_000_000L, "Kaputt, Karl", "karl@web.de");
+        final DataStore store = new DataStore(dir);
+        store.save(List.of(c), List.of());
+        try (RandomAccessFile f = new RandomAccessFile(dir.resolve("customers.seg").toFile(), "rw")) {
+            f.seek(f.length() - 1);
+            final int b = f.read();
+            f.seek(f.length() - 1);
+            f.write(b ^ 0xff);
+        }
+        assertThrows(IOException.class, store::load);
+    }
+
+    @Test
+    void test200_OrderLogRoundTrip() throws IOException {
+        var c = factory.createCustomer("Lara Logbuch", "lara@web.de").get();
+        var a1 = factory.createArticle("Logtasse", 299, PricingCategory.BasePricing).get();
+        var a2 = factory.createArticle("Logbuch", 1990, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        final Order o1 = new OrderBuilder().withCustomer(c).withCategory(PricingCategory.BasePricing)
+            .addItem(a1, 3).addItem(a2, 1).build().get();
+        final Order o2 = new OrderBuilder().withCustomer(c).withCategory(PricingCategory.SwissPricing)
+            .addItem(a2, 2).build().get();
+        final DataStore store = new DataStore(dir);
+        try (OrderLog log = store.openOrderLog()) {
+            log.append(o1);
+            log.append(o2);
+            log.sync();
+        }
+        try (OrderLog log = store.openOrderLog()) {
+            assertEquals(2, log.size());
+            final List<Order> orders = log.orders();
+            for (int i = 0; i < 2; i++) {
+                final Order expected = i == 0 ? o1 : o2, actual = orders.get(i);
+                assertEquals(expected.getId(), actual.getId());
+                assertSame(expected.getCustomer(), actual.getCustomer());
+                assertEquals(expected.getCategory(), actual.getCategory());
+                assertEquals(expected.getItems(), actual.getItems());
+            }
+        }
+    }
+
+    @Test
+    void test205_OrderLogValuations() throws IOException {
+        var c = factory.createCustomer("Vera Valuation", "vera@web.de").get();
+        var a = factory.createArticle("Valuationskanne", 1999, PricingCategory.BasePricing).get();
+        final Order o = new OrderBuilder().withCustomer(c).withCategory(PricingCategory.BasePricing)
+            .addItem(a, 2).build().get();
+        try (OrderLog log = new DataStore(dir).openOrderLog()) {
+            log.append(o);
+            final Order view = log.orders().get(0);
+            final var v = view.valuation();
+            assertEquals(o.valuation().gross(), v.gross());
+            assertEquals(o.valuation().vat(), v.vat());
+            assertSame(v, view.valuation());    // cached by the view, not by the log
+            assertNotSame(v, log.orders().get(0).valuation());
+        }
+    }
+
+    @Test
+    void test210_TornRecordIsCutOff() throws IOException {
+        var c = factory.createCustomer("Toni Torn", "toni@web.de").get();
+        var a = factory.createArticle("Tornbecher", 149, PricingCategory.BasePricing).get();
+        final DataStore store = new DataStore(dir);
+        try (OrderLog log = store.openOrderLog()) {
+            log.append(new OrderBuilder().withCustomer(c).withCategory(PricingCategory.BasePricing)
+                .addItem(a, 1).build().get());
+            log.append(new OrderBuilder().withCustomer(c).withCategory(PricingCategory.BasePricing)
+                .addItem(a, 2).build().get());
+        }
+        final Path file = dir.resolve("orders.log");
+        final long length = Files.size(file);
+        try (RandomAccessFile f = new RandomAccessFile(file.toFile(), "rw")) {
+            f.setLength(length - 5); // crash during second append
+        }
+        try (OrderLog log = store.openOrderLog()) {
+            assertEquals(1, log.size());
+            assertEquals(1, log.orders().get(0).getItems().get(0).quantity());
+        }
+        assertTrue(Files.size(file) < length - 5);
+    }
+
+    @Test
+    void test220_AppendRejectsItemsWithoutArticle() throws IOException {
+        var c = factory.createCustomer("Nina Nullartikel", "nina@web.de").get();
+        final Order o = new OrderBuilder().withCustomer(c).withCategory(PricingCategory.BasePricing)
+            .addItem(null, 1).build().get();
+        try (OrderLog log = new DataStore(dir).openOrderLog()) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(o));
+            assertEquals(0, log.size());
+        }
+    }
+
+    @Test
+    void test230_ArticleNotInCatalogFails() throws IOException {
+        var c = factory.createCustomer("Karl Katalog", "karl@web.de").get();
+        var a = factory.createArticle("Katalogkanne", 2499, PricingCategory.BasePricing).get();
+        final DataStore store = new DataStore(dir);
+        try (OrderLog log = store.openOrderLog()) {
+            log.append(new OrderBuilder().withCustomer(c).withCategory(PricingCategory.BasePricing)
+                .addItem(a, 1).build().get());
+        }
+        // log written with another catalog: replace SKU of first item, keep checksum valid
+        final Path file = dir.resolve("orders.log");
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        final int record = 8;   // after file header of magic number and version
+        bytes.putLong(record + 8 + 21, 999_999_999L);
+        final CRC32 crc = new CRC32();
+        crc.update(bytes.array(), record + 8, bytes.getInt(record));
+        bytes.putInt(record + 4, (int) crc.getValue());
+        Files.write(file, bytes.array());
+        try (OrderLog log = store.openOrderLog()) {
+            assertEquals(1, log.size());
+            final Order o = log.orders().get(0);
+            final var e = assertThrows(IllegalStateException.class, () -> o.getItems().get(0));
+            assertTrue(e.getMessage().contains("SKU-999999999"));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package tests.datamodel.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.*;
+import datamodel.Pricing.PricingCategory;
+import datamodel.Pricing.TAXRate;
+
+class PricingIndex_200_Lookup_Tests {
+    private final DataFactory factory = DataFactory.getInstance();
+    private final PricingIndex index = PricingIndex.getInstance();
+
+    @Test
+    void test200_RegisteredOnCreate() {
+        var article = factory.createArticle("Teller", 649, PricingCategory.BasePricing).get();
+        assertTrue(article.getIndex() >= 0);
+        assertTrue(index.size() > article.getIndex());
+        assertEquals(649, index.unitPrice(PricingCategory.BasePricing, article));
+        assertEquals(1900, index.vatBasisPoints(PricingCategory.BasePricing, article));
+        assertEquals(810, index.vatBasisPoints(PricingCategory.SwissPricing, article));
+        assertEquals(2000, index.vatBasisPoints(PricingCategory.UKPricing, article));
+    }
+
+    @Test
+    void test201_ReducedRates() {
+        var article = factory.createArticle("Buch 'UML'", 7995, PricingCategory.BasePricing, TAXRate.Reduced).get();
+        assertEquals(700, index.vatBasisPoints(PricingCategory.BasePricing, article));
+        assertEquals(260, index.vatBasisPoints(PricingCategory.SwissPricing, article));
+        assertEquals(500, index.vatBasisPoints(PricingCategory.UKPricing, article));
+    }
+
+    @Test
+    void test210_SameAsPricing() {
+        for (int i = 0; i < 500; i++) {
+            var article = factory.createArticle("Tasse", 100 + i * 37, PricingCategory.BasePricing,
+                TAXRate.values()[i % TAXRate.values().length]).get();
+            for (PricingCategory category : PricingCategory.values()) {
+                var pricing = category.pricing();
+                assertEquals(pricing.unitPrice(article), index.unitPrice(category, article));
+                assertEquals(pricing.taxRateAsPercent(article) * 100.0, index.vatBasisPoints(category, article), 1e-9);
+                assertEquals(VATCalculator.includedVAT(pricing.unitPrice(article), pricing.taxRateBasisPoints(article)),
+                    index.includedVAT(category, article));
+            }
+        }
+    }
+
+    @Test
+    void test220_UnregisteredArticle() {
+        var article = new Article();
+        assertEquals(-1, article.getIndex());
+        assertEquals(0, index.unitPrice(PricingCategory.BasePricing, article));
+    }
+}
@@ -0,0 +1,64 @@
+package tests.datamodel.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import datamodel.Pricing;
+import datamodel.Pricing.ConversionRates;
+import datamodel.Pricing.Country;
+
+class Pricing_100_Conversion_Tests {
+    private final Pricing base = Pricing.PricingCategory.BasePricing.pricing();
+
+    @AfterEach
+    void restoreDefaults() {
+        Pricing.setConversionRates(ConversionRates.defaults());
+    }
+
+    @Test
+    void test100_ConvertDefaultRates() {
+        assertEquals(1150, base.convertPriceToCountry(Country.Switzerland, 1000));
+        assertEquals(850, base.convertPriceToCountry(Country.UnitedKingdom, 1000));
+        assertEquals(1000, base.convertPriceToCountry(Country.Germany, 1000));
+    }
+
+    @Test
+    void test101_ConvertPriceList() {
+        long[] prices = { 299, 149, 1999, 649 };
+        long[] converted = base.convertPricesToCountry(Country.Switzerland, prices, new long[prices.length]);
+        assertArrayEquals(new long[] { 344, 171, 2299, 746 }, converted);
+    }
+
+    @Test
+    void test110_UnavailableRate() {
+        var swiss = Pricing.PricingCategory.SwissPricing.pricing();
+        assertThrows(UnsupportedOperationException.class, () -> swiss.convertPriceToCountry(Country.Germany, 1000));
+    }
+
+    @Test
+    void test120_HotSwapRates() {
+        Pricing.setConversionRates(ConversionRates.defaults().with(Country.Germany, Country.Switzerland, 0.95));
+        assertEquals(950, base.convertPriceToCountry(Country.Switzerland, 1000));
+    }
+
+    @Test
+    void test130_LoadRatesFromFile(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("rates.txt"), "# from to factor\nDE CH 0.97\n\nCH DE 1.03\n");
+        Pricing.setConversionRates(ConversionRates.load(file));
+        assertEquals(970, base.convertPriceToCountry(Country.Switzerland, 1000));
+        assertEquals(1030, Pricing.PricingCategory.SwissPricing.pricing().convertPriceToCountry(Country.Germany, 1000));
+        assertThrows(UnsupportedOperationException.class, () -> base.convertPriceToCountry(Country.UnitedKingdom, 1000));
+    }
+
+    @Test
+    void test140_LoadMalformedRates(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("rates.txt"), "DE XX 0.97\n");
+        assertThrows(IllegalArgumentException.class, () -> ConversionRates.load(file));
+    }
+}
@@ -0,0 +1,78 @@
+package tests.datamodel.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import datamodel.VATCalculator;
+import datamodel.VATCalculator.Rounding;
+
+class VATCalculator_300_IncludedVAT_Tests {
+
+    @Test
+    void test300_IncludedVATRegularCases() {
+        assertEquals(1597L, VATCalculator.includedVAT(10000, 1900));
+        assertEquals(160L, VATCalculator.includedVAT(999, 1900));
+        assertEquals(31933L, VATCalculator.includedVAT(199999, 1900));
+        assertEquals(2341L, VATCalculator.includedVAT(14661, 1900));
+        assertEquals(523L, VATCalculator.includedVAT(7995, 700));
+        assertEquals(350L, VATCalculator.includedVAT(4676, 810));
+    }
+
+    @Test
+    void test310_CommercialRounding() {
+        assertEquals(1672L, VATCalculator.includedVAT(10471, 1900));  // 16.7181 -> 16.72
+        assertEquals(19L, VATCalculator.includedVAT(119, 1900));      // 19.0000 -> 19.00
+        assertEquals(836L, VATCalculator.includedVAT(5236, 1900));    //  8.3600 ->  8.36
+        assertEquals(1595L, VATCalculator.includedVAT(9992, 1900));   // 15.9536 -> 15.95
+        assertEquals(1596L, VATCalculator.includedVAT(9993, 1900));   // 15.9552 -> 15.96
+    }
+
+    @Test
+    void test311_RoundingModes() {
+        assertEquals(1671L, VATCalculator.includedVAT(10471, 1900, Rounding.Down));
+        assertEquals(1672L, VATCalculator.includedVAT(10471, 1900, Rounding.HalfEven));
+        // 10% of 11 gross: 1.0 exactly, 10% of 33: 3.0
+        assertEquals(3L, VATCalculator.includedVAT(33, 1000, Rounding.HalfEven));
+        // 25% of 10 gross: 2.0, 25% of 2 gross: 0.4, 25% of 25 gross: 5.0
+        // 100% of 5 gross: 2.5 -> HalfUp: 3, HalfEven: 2, Down: 2
+        assertEquals(3L, VATCalculator.includedVAT(5, 10000, Rounding.HalfUp));
+        assertEquals(2L, VATCalculator.includedVAT(5, 10000, Rounding.HalfEven));
+        assertEquals(2L, VATCalculator.includedVAT(5, 10000, Rounding.Down));
+        // 100% of 7 gross: 3.5 -> HalfEven: 4
+        assertEquals(4L, VATCalculator.includedVAT(7, 10000, Rounding.HalfEven));
+    }
+
+    @Test
+    void test320_CornerCases() {
+        assertEquals(0L, VATCalculator.includedVAT(0, 1900));
+        assertEquals(0L, VATCalculator.includedVAT(-100, 1900));
+        assertEquals(0L, VATCalculator.includedVAT(Long.MIN_VALUE, 1900));
+        assertEquals(0L, VATCalculator.includedVAT(10000, 0));
+        // exact: 9223372036854775807 * 19 / 119 = 1472639232775132271.7
+        assertEquals(1472639232775132272L, VATCalculator.includedVAT(Long.MAX_VALUE, 1900));
+        assertThrows(IllegalArgumentException.class, () -> VATCalculator.includedVAT(100, -1));
+    }
+
+    @Test
+    void test330_BulkSameAsSingle() {
+        final long[] gross = IntStream.range(-10, 20_000).mapToLong(i -> i * 7L).toArray();
+        final int[] rates = IntStream.range(0, gross.length).map(i -> new int[] { 1900, 700, 810, 260, 0 }[i % 5]).toArray();
+        for (Rounding rounding : Rounding.values()) {
+            long[] vat = VATCalculator.includedVAT(gross, rates, new long[gross.length], rounding);
+            for (int i = 0; i < gross.length; i++) {
+                assertEquals(VATCalculator.includedVAT(gross[i], rates[i], rounding), vat[i]);
+            }
+        }
+    }
+
+    @Test
+    void test331_BulkExceptionCases() {
+        assertThrows(IllegalArgumentException.class,
+            () -> VATCalculator.includedVAT(new long[2], new int[1], new long[2]));
+        assertThrows(IllegalArgumentException.class,
+            () -> VATCalculator.includedVAT(new long[] { 100 }, new int[] { -1 }, new long[1]));
+    }
+}